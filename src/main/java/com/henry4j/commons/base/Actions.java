@@ -40,4 +40,16 @@ public final class Actions {
     public interface Action8<T1, T2, T3, T4, T5, T6, T7, T8> {
         void apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8);
     }
+
+    public interface IntAction1 {
+        void apply(int t1);
+    }
+
+    public interface LongAction1 {
+        void apply(long t1);
+    }
+
+    public interface DoubleAction1 {
+        void apply(double t1);
+    }
 }
@@ -1,31 +1,90 @@
 package com.henry4j.commons.base;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.util.concurrent.Futures.getUnchecked;
+
 import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import lombok.SneakyThrows;
 import lombok.val;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
+import com.google.common.base.Throwables;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
 import com.henry4j.commons.base.Actions.Action1;
 import com.henry4j.commons.base.Actions.Action2;
+import com.henry4j.commons.base.Actions.DoubleAction1;
+import com.henry4j.commons.base.Actions.IntAction1;
+import com.henry4j.commons.base.Actions.LongAction1;
+import com.henry4j.commons.base.Functions.AsyncFunction2;
+import com.henry4j.commons.base.Functions.AsyncFunction3;
+import com.henry4j.commons.base.Functions.AsyncFunction4;
+import com.henry4j.commons.base.Functions.AsyncFunction5;
+import com.henry4j.commons.base.Functions.AsyncFunction6;
+import com.henry4j.commons.base.Functions.AsyncFunction7;
+import com.henry4j.commons.base.Functions.AsyncFunction8;
+import com.henry4j.commons.base.Functions.DoubleToDoubleFunction1;
+import com.henry4j.commons.base.Functions.DoubleToIntFunction1;
+import com.henry4j.commons.base.Functions.DoubleToLongFunction1;
 import com.henry4j.commons.base.Functions.Function1;
+import com.henry4j.commons.base.Functions.Function2;
+import com.henry4j.commons.base.Functions.Function3;
+import com.henry4j.commons.base.Functions.Function4;
+import com.henry4j.commons.base.Functions.Function5;
+import com.henry4j.commons.base.Functions.Function6;
+import com.henry4j.commons.base.Functions.Function7;
+import com.henry4j.commons.base.Functions.Function8;
+import com.henry4j.commons.base.Functions.IntToDoubleFunction1;
+import com.henry4j.commons.base.Functions.IntToIntFunction1;
+import com.henry4j.commons.base.Functions.IntToLongFunction1;
+import com.henry4j.commons.base.Functions.LongToDoubleFunction1;
+import com.henry4j.commons.base.Functions.LongToIntFunction1;
+import com.henry4j.commons.base.Functions.LongToLongFunction1;
+import com.henry4j.commons.base.Functions.ToDoubleFunction1;
+import com.henry4j.commons.base.Functions.ToIntFunction1;
+import com.henry4j.commons.base.Functions.ToLongFunction1;
+import com.henry4j.commons.base.Predicates.DoublePredicate1;
+import com.henry4j.commons.base.Predicates.IntPredicate1;
+import com.henry4j.commons.base.Predicates.LongPredicate1;
 import com.henry4j.commons.base.Predicates.Predicate1;
+import com.henry4j.commons.base.Primitives.DoubleIterable;
+import com.henry4j.commons.base.Primitives.DoubleIterator;
+import com.henry4j.commons.base.Primitives.IntIterable;
+import com.henry4j.commons.base.Primitives.IntIterator;
+import com.henry4j.commons.base.Primitives.LongIterable;
+import com.henry4j.commons.base.Primitives.LongIterator;
 
 public class Extensions {
+    private static final ForkJoinPool PARALLEL = new ForkJoinPool(); // of daemon threads, one per processor.
+    private static final int PARALLEL_THRESHOLD = 256;
+
     public static String hexString(int i) {
         return Integer.toHexString(i);
     }
@@ -59,10 +118,21 @@ public class Extensions {
         return Iterables.isEmpty(iterable);
     }
 
+    // copies elements once into the array, sized up front if the iterable is a collection.
     @SuppressWarnings("unchecked")
     public static <E> E[] array(Iterable<E> from, Class<E> clazz) {
-        val list = list(from);
-        return list.toArray((E[])Array.newInstance(clazz, list.size()));
+        if (from instanceof Collection) {
+            return array((Collection<E>)from, clazz);
+        }
+        E[] array = (E[])Array.newInstance(clazz, 16);
+        int size = 0;
+        for (E e : from) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size);
+            }
+            array[size++] = e;
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
     }
 
     public static String[] strings(Iterable<String> from) {
@@ -94,6 +164,414 @@ public class Extensions {
         return array(from, Long.class);
     }
 
+    // unboxes elements in one pass into the array, sized up front if the iterable is a collection.
+    public static int[] intArray(Iterable<Integer> from) {
+        int[] array = new int[capacity(from)];
+        int size = 0;
+        for (Integer e : from) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size + 1);
+            }
+            array[size++] = e;
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    public static long[] longArray(Iterable<Long> from) {
+        long[] array = new long[capacity(from)];
+        int size = 0;
+        for (Long e : from) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size + 1);
+            }
+            array[size++] = e;
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    public static double[] doubleArray(Iterable<Double> from) {
+        double[] array = new double[capacity(from)];
+        int size = 0;
+        for (Double e : from) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size + 1);
+            }
+            array[size++] = e;
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    public static int[] intArray(IntIterable from) {
+        int[] array = new int[16];
+        int size = 0;
+        for (IntIterator i = from.iterator(); i.hasNext(); ) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size);
+            }
+            array[size++] = i.next();
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    public static long[] longArray(LongIterable from) {
+        long[] array = new long[16];
+        int size = 0;
+        for (LongIterator i = from.iterator(); i.hasNext(); ) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size);
+            }
+            array[size++] = i.next();
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    public static double[] doubleArray(DoubleIterable from) {
+        double[] array = new double[16];
+        int size = 0;
+        for (DoubleIterator i = from.iterator(); i.hasNext(); ) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size);
+            }
+            array[size++] = i.next();
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    // maps, selects and processes primitives without boxing them.
+    public static int[] map(int[] from, IntToIntFunction1 function) {
+        int[] to = new int[from.length];
+        for (int i = 0; i < from.length; i++) {
+            to[i] = function.apply(from[i]);
+        }
+        return to;
+    }
+
+    public static long[] map(int[] from, IntToLongFunction1 function) {
+        long[] to = new long[from.length];
+        for (int i = 0; i < from.length; i++) {
+            to[i] = function.apply(from[i]);
+        }
+        return to;
+    }
+
+    public static double[] map(int[] from, IntToDoubleFunction1 function) {
+        double[] to = new double[from.length];
+        for (int i = 0; i < from.length; i++) {
+            to[i] = function.apply(from[i]);
+        }
+        return to;
+    }
+
+    public static int[] map(long[] from, LongToIntFunction1 function) {
+        int[] to = new int[from.length];
+        for (int i = 0; i < from.length; i++) {
+            to[i] = function.apply(from[i]);
+        }
+        return to;
+    }
+
+    public static long[] map(long[] from, LongToLongFunction1 function) {
+        long[] to = new long[from.length];
+        for (int i = 0; i < from.length; i++) {
+            to[i] = function.apply(from[i]);
+        }
+        return to;
+    }
+
+    public static double[] map(long[] from, LongToDoubleFunction1 function) {
+        double[] to = new double[from.length];
+        for (int i = 0; i < from.length; i++) {
+            to[i] = function.apply(from[i]);
+        }
+        return to;
+    }
+
+    public static int[] map(double[] from, DoubleToIntFunction1 function) {
+        int[] to = new int[from.length];
+        for (int i = 0; i < from.length; i++) {
+            to[i] = function.apply(from[i]);
+        }
+        return to;
+    }
+
+    public static long[] map(double[] from, DoubleToLongFunction1 function) {
+        long[] to = new long[from.length];
+        for (int i = 0; i < from.length; i++) {
+            to[i] = function.apply(from[i]);
+        }
+        return to;
+    }
+
+    public static double[] map(double[] from, DoubleToDoubleFunction1 function) {
+        double[] to = new double[from.length];
+        for (int i = 0; i < from.length; i++) {
+            to[i] = function.apply(from[i]);
+        }
+        return to;
+    }
+
+    public static int[] select(int[] from, IntPredicate1 predicate) {
+        int[] to = new int[from.length];
+        int size = 0;
+        for (int e : from) {
+            if (predicate.apply(e)) {
+                to[size++] = e;
+            }
+        }
+        return size == to.length ? to : Arrays.copyOf(to, size);
+    }
+
+    public static long[] select(long[] from, LongPredicate1 predicate) {
+        long[] to = new long[from.length];
+        int size = 0;
+        for (long e : from) {
+            if (predicate.apply(e)) {
+                to[size++] = e;
+            }
+        }
+        return size == to.length ? to : Arrays.copyOf(to, size);
+    }
+
+    public static double[] select(double[] from, DoublePredicate1 predicate) {
+        double[] to = new double[from.length];
+        int size = 0;
+        for (double e : from) {
+            if (predicate.apply(e)) {
+                to[size++] = e;
+            }
+        }
+        return size == to.length ? to : Arrays.copyOf(to, size);
+    }
+
+    public static void each(int[] from, IntAction1 process) {
+        for (int e : from) {
+            process.apply(e);
+        }
+    }
+
+    public static void each(long[] from, LongAction1 process) {
+        for (long e : from) {
+            process.apply(e);
+        }
+    }
+
+    public static void each(double[] from, DoubleAction1 process) {
+        for (double e : from) {
+            process.apply(e);
+        }
+    }
+
+    public static void each(IntIterable from, IntAction1 process) {
+        for (IntIterator i = from.iterator(); i.hasNext(); ) {
+            process.apply(i.next());
+        }
+    }
+
+    public static void each(LongIterable from, LongAction1 process) {
+        for (LongIterator i = from.iterator(); i.hasNext(); ) {
+            process.apply(i.next());
+        }
+    }
+
+    public static void each(DoubleIterable from, DoubleAction1 process) {
+        for (DoubleIterator i = from.iterator(); i.hasNext(); ) {
+            process.apply(i.next());
+        }
+    }
+
+    public static IntIterable map(final IntIterable from, final IntToIntFunction1 function) {
+        return new IntIterable() {
+            @Override
+            public IntIterator iterator() {
+                final IntIterator i = from.iterator();
+                return new IntIterator() {
+                    @Override
+                    public boolean hasNext() {
+                        return i.hasNext();
+                    }
+
+                    @Override
+                    public int next() {
+                        return function.apply(i.next());
+                    }
+                };
+            }
+        };
+    }
+
+    public static LongIterable map(final LongIterable from, final LongToLongFunction1 function) {
+        return new LongIterable() {
+            @Override
+            public LongIterator iterator() {
+                final LongIterator i = from.iterator();
+                return new LongIterator() {
+                    @Override
+                    public boolean hasNext() {
+                        return i.hasNext();
+                    }
+
+                    @Override
+                    public long next() {
+                        return function.apply(i.next());
+                    }
+                };
+            }
+        };
+    }
+
+    public static DoubleIterable map(final DoubleIterable from, final DoubleToDoubleFunction1 function) {
+        return new DoubleIterable() {
+            @Override
+            public DoubleIterator iterator() {
+                final DoubleIterator i = from.iterator();
+                return new DoubleIterator() {
+                    @Override
+                    public boolean hasNext() {
+                        return i.hasNext();
+                    }
+
+                    @Override
+                    public double next() {
+                        return function.apply(i.next());
+                    }
+                };
+            }
+        };
+    }
+
+    public static IntIterable select(final IntIterable from, final IntPredicate1 predicate) {
+        return new IntIterable() {
+            @Override
+            public IntIterator iterator() {
+                final IntIterator i = from.iterator();
+                return new IntIterator() {
+                    private boolean ready;
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!ready && i.hasNext()) {
+                            next = i.next();
+                            ready = predicate.apply(next);
+                        }
+                        return ready;
+                    }
+
+                    @Override
+                    public int next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        ready = false;
+                        return next;
+                    }
+                };
+            }
+        };
+    }
+
+    public static LongIterable select(final LongIterable from, final LongPredicate1 predicate) {
+        return new LongIterable() {
+            @Override
+            public LongIterator iterator() {
+                final LongIterator i = from.iterator();
+                return new LongIterator() {
+                    private boolean ready;
+                    private long next;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!ready && i.hasNext()) {
+                            next = i.next();
+                            ready = predicate.apply(next);
+                        }
+                        return ready;
+                    }
+
+                    @Override
+                    public long next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        ready = false;
+                        return next;
+                    }
+                };
+            }
+        };
+    }
+
+    public static DoubleIterable select(final DoubleIterable from, final DoublePredicate1 predicate) {
+        return new DoubleIterable() {
+            @Override
+            public DoubleIterator iterator() {
+                final DoubleIterator i = from.iterator();
+                return new DoubleIterator() {
+                    private boolean ready;
+                    private double next;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!ready && i.hasNext()) {
+                            next = i.next();
+                            ready = predicate.apply(next);
+                        }
+                        return ready;
+                    }
+
+                    @Override
+                    public double next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        ready = false;
+                        return next;
+                    }
+                };
+            }
+        };
+    }
+
+    public static <E> int[] intArray(Iterable<E> from, ToIntFunction1<? super E> function) {
+        int[] array = new int[capacity(from)];
+        int size = 0;
+        for (E e : from) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size + 1);
+            }
+            array[size++] = function.apply(e);
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    public static <E> long[] longArray(Iterable<E> from, ToLongFunction1<? super E> function) {
+        long[] array = new long[capacity(from)];
+        int size = 0;
+        for (E e : from) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size + 1);
+            }
+            array[size++] = function.apply(e);
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    public static <E> double[] doubleArray(Iterable<E> from, ToDoubleFunction1<? super E> function) {
+        double[] array = new double[capacity(from)];
+        int size = 0;
+        for (E e : from) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, 2 * size + 1);
+            }
+            array[size++] = function.apply(e);
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    private static int capacity(Iterable<?> from) {
+        return from instanceof Collection ? ((Collection<?>)from).size() : 16;
+    }
+
     public static <E> ImmutableList<E> list() {
         return ImmutableList.of();
     }
@@ -110,6 +588,7 @@ public class Extensions {
         return ImmutableList.copyOf(from);
     }
 
+    // blocks the caller per element; Pacer.list paces elements on a shared scheduler instead.
     @SneakyThrows({ InterruptedException.class })
     public static <E> ImmutableList<E> listAsleep(long millis, Iterable<E> from) {
         val list = ImmutableList.<E> builder();
@@ -195,6 +674,298 @@ public class Extensions {
         return Iterables.filter(from, predicate);
     }
 
+    // maps elements in chunks on a shared fork-join pool, and returns results in the order of elements.
+    public static <U, V> List<V> parallelMap(Iterable<U> from, Function1<U, V> function) {
+        return parallelMap(from, function, PARALLEL, PARALLEL_THRESHOLD);
+    }
+
+    // maps elements sequentially if fewer than threshold; otherwise, in chunks on the executor. the first failure of
+    // any chunk cancels the rest, and propagates to the caller.
+    @SuppressWarnings("unchecked")
+    public static <U, V> List<V> parallelMap(Iterable<U> from, final Function1<U, V> function, Executor executor, int threshold) {
+        final List<U> list = randomAccess(from);
+        final Object[] results = new Object[list.size()];
+        parallel(list.size(), executor, threshold, new Action2<Integer, Integer>() {
+            @Override
+            public void apply(Integer begin, Integer end) {
+                for (int i = begin; i < end; i++) {
+                    results[i] = function.apply(list.get(i));
+                }
+            }
+        });
+        return Collections.unmodifiableList((List<V>)Arrays.asList(results));
+    }
+
+    public static <E> List<E> parallelSelect(Iterable<E> from, Predicate1<E> predicate) {
+        return parallelSelect(from, predicate, PARALLEL, PARALLEL_THRESHOLD);
+    }
+
+    public static <E> List<E> parallelSelect(Iterable<E> from, final Predicate1<E> predicate, Executor executor, int threshold) {
+        final List<E> list = randomAccess(from);
+        final boolean[] selected = new boolean[list.size()];
+        parallel(list.size(), executor, threshold, new Action2<Integer, Integer>() {
+            @Override
+            public void apply(Integer begin, Integer end) {
+                for (int i = begin; i < end; i++) {
+                    selected[i] = predicate.apply(list.get(i));
+                }
+            }
+        });
+        List<E> results = new ArrayList<E>();
+        for (int i = 0; i < selected.length; i++) {
+            if (selected[i]) {
+                results.add(list.get(i));
+            }
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    public static <E> void parallelEach(Iterable<E> from, Action1<E> process) {
+        parallelEach(from, process, PARALLEL, PARALLEL_THRESHOLD);
+    }
+
+    public static <E> void parallelEach(Iterable<E> from, final Action1<E> process, Executor executor, int threshold) {
+        final List<E> list = randomAccess(from);
+        parallel(list.size(), executor, threshold, new Action2<Integer, Integer>() {
+            @Override
+            public void apply(Integer begin, Integer end) {
+                for (int i = begin; i < end; i++) {
+                    process.apply(list.get(i));
+                }
+            }
+        });
+    }
+
+    private static <E> List<E> randomAccess(Iterable<E> from) {
+        return from instanceof List && from instanceof RandomAccess ? (List<E>)from : Lists.newArrayList(from);
+    }
+
+    // applies the chunk to ranges [begin, end) that split [0, size) on the executor, and waits for all of them.
+    // on a fork-join pool, ranges split recursively, and joins run queued ranges instead of parking, so that nested
+    // calls from functions running on the pool never starve it. other executors must not run the caller itself.
+    @SneakyThrows({ InterruptedException.class })
+    private static void parallel(int size, Executor executor, int threshold, final Action2<Integer, Integer> chunk) {
+        if (size < Math.max(2, threshold)) {
+            chunk.apply(0, size);
+            return;
+        }
+        int chunkSize = Math.max(threshold / 4, (size + 4 * Runtime.getRuntime().availableProcessors() - 1) / (4 * Runtime.getRuntime().availableProcessors()));
+        if (executor instanceof ForkJoinPool) {
+            AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+            Chunk task = new Chunk(0, size, chunkSize, chunk, failure);
+            if (ForkJoinTask.getPool() == executor) {
+                task.invoke();
+            } else {
+                ((ForkJoinPool)executor).invoke(task);
+            }
+            if (null != failure.get()) {
+                throw Throwables.propagate(failure.get());
+            }
+            return;
+        }
+        final AtomicBoolean failed = new AtomicBoolean();
+        List<ListenableFutureTask<Void>> tasks = new ArrayList<ListenableFutureTask<Void>>();
+        for (int begin = 0; begin < size; begin += chunkSize) {
+            final int b = begin, e = Math.min(size, begin + chunkSize);
+            ListenableFutureTask<Void> task = ListenableFutureTask.create(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    if (!failed.get()) { // skips chunks yet to start once any failed.
+                        try {
+                            chunk.apply(b, e);
+                        } catch (RuntimeException | Error t) {
+                            failed.set(true);
+                            throw t;
+                        }
+                    }
+                    return null;
+                }
+            });
+            tasks.add(task);
+            executor.execute(task);
+        }
+        try {
+            Futures.allAsList(tasks).get();
+        } catch (ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        } finally {
+            for (ListenableFutureTask<Void> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    // applies the function to results of the futures on the executor once all of them succeed; the first failure
+    // fails the result, and cancelling the result cancels the futures.
+    public static <T1, T2, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final Function2<T1, T2, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2)), new Function<List<Object>, R>() {
+            @Override
+            public R apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final AsyncFunction2<T1, T2, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2)), new AsyncFunction<List<Object>, R>() {
+            @Override
+            public ListenableFuture<R> apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final Function3<T1, T2, T3, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3)), new Function<List<Object>, R>() {
+            @Override
+            public R apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final AsyncFunction3<T1, T2, T3, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3)), new AsyncFunction<List<Object>, R>() {
+            @Override
+            public ListenableFuture<R> apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, T4, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final ListenableFuture<T4> f4, final Function4<T1, T2, T3, T4, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3, f4)), new Function<List<Object>, R>() {
+            @Override
+            public R apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3), getUnchecked(f4));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, T4, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final ListenableFuture<T4> f4, final AsyncFunction4<T1, T2, T3, T4, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3, f4)), new AsyncFunction<List<Object>, R>() {
+            @Override
+            public ListenableFuture<R> apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3), getUnchecked(f4));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, T4, T5, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final ListenableFuture<T4> f4, final ListenableFuture<T5> f5, final Function5<T1, T2, T3, T4, T5, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3, f4, f5)), new Function<List<Object>, R>() {
+            @Override
+            public R apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3), getUnchecked(f4), getUnchecked(f5));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, T4, T5, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final ListenableFuture<T4> f4, final ListenableFuture<T5> f5, final AsyncFunction5<T1, T2, T3, T4, T5, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3, f4, f5)), new AsyncFunction<List<Object>, R>() {
+            @Override
+            public ListenableFuture<R> apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3), getUnchecked(f4), getUnchecked(f5));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final ListenableFuture<T4> f4, final ListenableFuture<T5> f5, final ListenableFuture<T6> f6, final Function6<T1, T2, T3, T4, T5, T6, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3, f4, f5, f6)), new Function<List<Object>, R>() {
+            @Override
+            public R apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3), getUnchecked(f4), getUnchecked(f5), getUnchecked(f6));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final ListenableFuture<T4> f4, final ListenableFuture<T5> f5, final ListenableFuture<T6> f6, final AsyncFunction6<T1, T2, T3, T4, T5, T6, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3, f4, f5, f6)), new AsyncFunction<List<Object>, R>() {
+            @Override
+            public ListenableFuture<R> apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3), getUnchecked(f4), getUnchecked(f5), getUnchecked(f6));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final ListenableFuture<T4> f4, final ListenableFuture<T5> f5, final ListenableFuture<T6> f6, final ListenableFuture<T7> f7, final Function7<T1, T2, T3, T4, T5, T6, T7, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3, f4, f5, f6, f7)), new Function<List<Object>, R>() {
+            @Override
+            public R apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3), getUnchecked(f4), getUnchecked(f5), getUnchecked(f6), getUnchecked(f7));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final ListenableFuture<T4> f4, final ListenableFuture<T5> f5, final ListenableFuture<T6> f6, final ListenableFuture<T7> f7, final AsyncFunction7<T1, T2, T3, T4, T5, T6, T7, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3, f4, f5, f6, f7)), new AsyncFunction<List<Object>, R>() {
+            @Override
+            public ListenableFuture<R> apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3), getUnchecked(f4), getUnchecked(f5), getUnchecked(f6), getUnchecked(f7));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, T8, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final ListenableFuture<T4> f4, final ListenableFuture<T5> f5, final ListenableFuture<T6> f6, final ListenableFuture<T7> f7, final ListenableFuture<T8> f8, final Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3, f4, f5, f6, f7, f8)), new Function<List<Object>, R>() {
+            @Override
+            public R apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3), getUnchecked(f4), getUnchecked(f5), getUnchecked(f6), getUnchecked(f7), getUnchecked(f8));
+            }
+        }, executor);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, T8, R> ListenableFuture<R> combine(final ListenableFuture<T1> f1, final ListenableFuture<T2> f2, final ListenableFuture<T3> f3, final ListenableFuture<T4> f4, final ListenableFuture<T5> f5, final ListenableFuture<T6> f6, final ListenableFuture<T7> f7, final ListenableFuture<T8> f8, final AsyncFunction8<T1, T2, T3, T4, T5, T6, T7, T8, R> function, Executor executor) {
+        return Futures.transform(Futures.allAsList(Arrays.<ListenableFuture<?>> asList(f1, f2, f3, f4, f5, f6, f7, f8)), new AsyncFunction<List<Object>, R>() {
+            @Override
+            public ListenableFuture<R> apply(List<Object> input) {
+                return function.apply(getUnchecked(f1), getUnchecked(f2), getUnchecked(f3), getUnchecked(f4), getUnchecked(f5), getUnchecked(f6), getUnchecked(f7), getUnchecked(f8));
+            }
+        }, executor);
+    }
+
+    // calls the function per batch of the size with at most concurrency batches in flight, and returns results in
+    // the order of batches; the input is read lazily as batches complete. the first failure fails the result.
+    public static <E, V> ListenableFuture<List<V>> fanOut(Iterable<E> from, int size, int concurrency, Function1<? super List<E>, ListenableFuture<V>> function) {
+        checkArgument(concurrency > 0, "concurrency must be positive: %s", concurrency);
+        return new FanOut<E, V>(Iterables.partition(from, size).iterator(), function, concurrency).start();
+    }
+
+    // splits its range in halves down to the chunk size, and skips ranges yet to start once any failed; it keeps the
+    // first failure as is, as fork-join tasks rethrow copies of failures across threads.
+    @SuppressWarnings("serial")
+    private static class Chunk extends RecursiveAction {
+        private final int begin;
+        private final int end;
+        private final int chunkSize;
+        private final Action2<Integer, Integer> chunk;
+        private final AtomicReference<Throwable> failure;
+
+        Chunk(int begin, int end, int chunkSize, Action2<Integer, Integer> chunk, AtomicReference<Throwable> failure) {
+            this.begin = begin;
+            this.end = end;
+            this.chunkSize = chunkSize;
+            this.chunk = chunk;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (null != failure.get()) {
+                return;
+            }
+            if (end - begin <= chunkSize) {
+                try {
+                    chunk.apply(begin, end);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            } else {
+                int middle = (begin + end) >>> 1;
+                invokeAll(new Chunk(begin, middle, chunkSize, chunk, failure), new Chunk(middle, end, chunkSize, chunk, failure));
+            }
+        }
+    }
+
     public static <E> Iterable<E> concat(final Iterable<E> ones, final Iterable<E> others) {
         return Iterables.concat(ones, others);
     }
@@ -0,0 +1,125 @@
+package com.henry4j.commons.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.henry4j.commons.base.Functions.Function1;
+
+// Calls an async function per batch with at most a number of batches in flight, pulling the next batch from the
+// input only as one completes, and gathers results in the order of batches. No thread waits for a batch: completion
+// callbacks launch the next batches, and a work-in-progress counter makes whichever thread signals first launch on
+// behalf of the others, so that batches completing synchronously never recurse. The first failure fails the result
+// and cancels batches in flight; cancelling the result also cancels them.
+final class FanOut<E, V> {
+    private final Iterator<List<E>> batches;
+    private final Function1<? super List<E>, ListenableFuture<V>> function;
+    private final int concurrency;
+    private final SettableFuture<List<V>> result = SettableFuture.create();
+    private final AtomicInteger signals = new AtomicInteger();
+    private final List<V> results = new ArrayList<V>();
+    private final Map<Integer, ListenableFuture<V>> inFlight = new HashMap<Integer, ListenableFuture<V>>();
+    private boolean exhausted;
+
+    FanOut(Iterator<List<E>> batches, Function1<? super List<E>, ListenableFuture<V>> function, int concurrency) {
+        this.batches = batches;
+        this.function = function;
+        this.concurrency = concurrency;
+    }
+
+    ListenableFuture<List<V>> start() {
+        result.addListener(new Runnable() {
+            @Override
+            public void run() {
+                if (result.isCancelled()) {
+                    cancelInFlight();
+                }
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        signal();
+        return result;
+    }
+
+    private void signal() {
+        if (signals.getAndIncrement() == 0) {
+            do {
+                try {
+                    launch();
+                } catch (Throwable t) { // e.g. of the input, or the function; the counter drops in any case.
+                    fail(t);
+                }
+            } while (signals.decrementAndGet() != 0);
+        }
+    }
+
+    // launches batches up to the concurrency, or completes the result once all batches completed; anything it throws
+    // fails the result.
+    private void launch() {
+        while (!result.isDone()) {
+            final int index;
+            List<E> batch;
+            synchronized (this) {
+                if (inFlight.size() >= concurrency) {
+                    return;
+                }
+                exhausted = exhausted || !batches.hasNext();
+                if (exhausted) {
+                    if (inFlight.isEmpty()) {
+                        result.set(Collections.unmodifiableList(results));
+                    }
+                    return;
+                }
+                batch = batches.next();
+                index = results.size();
+                results.add(null);
+            }
+            ListenableFuture<V> future = function.apply(batch);
+            if (null == future) {
+                throw new NullPointerException("null future of batch " + index);
+            }
+            synchronized (this) {
+                inFlight.put(index, future);
+            }
+            Futures.addCallback(future, new FutureCallback<V>() {
+                @Override
+                public void onSuccess(V value) {
+                    synchronized (FanOut.this) {
+                        inFlight.remove(index);
+                        results.set(index, value);
+                    }
+                    signal();
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    fail(t);
+                }
+            });
+        }
+    }
+
+    private void fail(Throwable t) {
+        if (result.setException(t)) {
+            cancelInFlight();
+        }
+    }
+
+    private void cancelInFlight() {
+        List<ListenableFuture<V>> futures;
+        synchronized (this) {
+            futures = new ArrayList<ListenableFuture<V>>(inFlight.values());
+        }
+        for (ListenableFuture<V> f : futures) {
+            f.cancel(true);
+        }
+    }
+}
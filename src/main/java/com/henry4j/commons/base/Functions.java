@@ -3,6 +3,8 @@ package com.henry4j.commons.base;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class Functions {
     public interface Function0<R> {
@@ -40,4 +42,100 @@ public final class Functions {
     public interface Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> {
         R apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8);
     }
+
+    public interface IntFunction1<R> {
+        R apply(int t1);
+    }
+
+    public interface LongFunction1<R> {
+        R apply(long t1);
+    }
+
+    public interface DoubleFunction1<R> {
+        R apply(double t1);
+    }
+
+    public interface ToIntFunction1<T1> {
+        int apply(T1 t1);
+    }
+
+    public interface ToLongFunction1<T1> {
+        long apply(T1 t1);
+    }
+
+    public interface ToDoubleFunction1<T1> {
+        double apply(T1 t1);
+    }
+
+    public interface IntToIntFunction1 {
+        int apply(int t1);
+    }
+
+    public interface IntToLongFunction1 {
+        long apply(int t1);
+    }
+
+    public interface IntToDoubleFunction1 {
+        double apply(int t1);
+    }
+
+    public interface LongToIntFunction1 {
+        int apply(long t1);
+    }
+
+    public interface LongToLongFunction1 {
+        long apply(long t1);
+    }
+
+    public interface LongToDoubleFunction1 {
+        double apply(long t1);
+    }
+
+    public interface DoubleToIntFunction1 {
+        int apply(double t1);
+    }
+
+    public interface DoubleToLongFunction1 {
+        long apply(double t1);
+    }
+
+    public interface DoubleToDoubleFunction1 {
+        double apply(double t1);
+    }
+
+    public interface AsyncFunction0<R> {
+        ListenableFuture<R> apply();
+    }
+
+    public interface AsyncFunction1<T1, R> {
+        ListenableFuture<R> apply(T1 t1);
+    }
+
+    public interface AsyncFunction2<T1, T2, R> {
+        ListenableFuture<R> apply(T1 t1, T2 t2);
+    }
+
+    public interface AsyncFunction3<T1, T2, T3, R> {
+        ListenableFuture<R> apply(T1 t1, T2 t2, T3 t3);
+    }
+
+    public interface AsyncFunction4<T1, T2, T3, T4, R> {
+        ListenableFuture<R> apply(T1 t1, T2 t2, T3 t3, T4 t4);
+    }
+
+    public interface AsyncFunction5<T1, T2, T3, T4, T5, R> {
+        ListenableFuture<R> apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5);
+    }
+
+    public interface AsyncFunction6<T1, T2, T3, T4, T5, T6, R> {
+        ListenableFuture<R> apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6);
+    }
+
+    public interface AsyncFunction7<T1, T2, T3, T4, T5, T6, T7, R> {
+        ListenableFuture<R> apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7);
+    }
+
+    public interface AsyncFunction8<T1, T2, T3, T4, T5, T6, T7, T8, R> {
+        ListenableFuture<R> apply(T1 t1, T2 t2, T3 t3, T4 t4, T5 t5, T6 t6, T7 t7, T8 t8);
+    }
 }
@@ -1,15 +1,33 @@
 package com.henry4j.commons.base;
 
 import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.henry4j.commons.base.Actions.Action1;
 import com.henry4j.commons.base.Functions.Function1;
 import com.henry4j.commons.collect.Pair;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
 import lombok.extern.log4j.Log4j;
 
 @Log4j
@@ -90,6 +108,121 @@ public class Functors {
         };
     }
 
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("gather-timer").build());
+
+    // results of futures in the order of inputs, where ones that timed out or failed are null.
+    @RequiredArgsConstructor
+    @Getter @Accessors(fluent = true)
+    @ToString
+    public static class Gathered<V> {
+        private final List<V> results;
+        private final ImmutableList<Integer> timedOut; // positions of inputs.
+        private final ImmutableMap<Integer, Throwable> failed; // by positions of inputs.
+
+        public boolean isComplete() {
+            return timedOut.isEmpty() && failed.isEmpty();
+        }
+    }
+
+    public static <V> ListenableFuture<Gathered<V>> gatherQuietly(Iterable<? extends ListenableFuture<? extends V>> futures, long untilMillis) {
+        return gatherQuietly(futures, untilMillis, TIMER);
+    }
+
+    // gathers results of the futures, completing when all of them complete or at the deadline, whichever comes first,
+    // with no thread waiting in between. failures are logged as joinQuietly does, i.e. as warnings if caused by
+    // socket timeouts; futures that time out are left running.
+    public static <V> ListenableFuture<Gathered<V>> gatherQuietly(Iterable<? extends ListenableFuture<? extends V>> futures, long untilMillis, ScheduledExecutorService timer) {
+        final List<? extends ListenableFuture<? extends V>> inputs = ImmutableList.copyOf(futures);
+        final Gathering<V> gathering = new Gathering<V>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            final int position = i;
+            Futures.addCallback(inputs.get(i), new FutureCallback<V>() {
+                @Override
+                public void onSuccess(V result) {
+                    gathering.complete(position, result, null);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    logQuietly(t);
+                    gathering.complete(position, null, t);
+                }
+            });
+        }
+        if (!gathering.result.isDone()) {
+            final ScheduledFuture<?> deadline = timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    gathering.expire();
+                }
+            }, Math.max(0, untilMillis - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            gathering.result.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    deadline.cancel(false);
+                }
+            }, MoreExecutors.sameThreadExecutor());
+        }
+        return gathering.result;
+    }
+
+    private static class Gathering<V> {
+        private final SettableFuture<Gathered<V>> result = SettableFuture.create();
+        private final Object[] results;
+        private final Throwable[] failures;
+        private final boolean[] completed;
+        private int remaining;
+
+        Gathering(int size) {
+            results = new Object[size];
+            failures = new Throwable[size];
+            completed = new boolean[size];
+            remaining = size;
+            if (size == 0) {
+                expire();
+            }
+        }
+
+        synchronized void complete(int position, Object value, Throwable failure) {
+            results[position] = value;
+            failures[position] = failure;
+            completed[position] = true;
+            if (--remaining == 0) {
+                expire();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized void expire() {
+            if (result.isDone()) {
+                return;
+            }
+            ImmutableList.Builder<Integer> timedOut = ImmutableList.builder();
+            ImmutableMap.Builder<Integer, Throwable> failed = ImmutableMap.builder();
+            for (int i = 0; i < completed.length; i++) {
+                if (!completed[i]) {
+                    timedOut.add(i);
+                } else if (null != failures[i]) {
+                    failed.put(i, failures[i]);
+                }
+            }
+            if (remaining > 0) {
+                log.warn(String.format("Timed Out! %d of %d", remaining, completed.length));
+            }
+            result.set(new Gathered<V>(Collections.unmodifiableList(Arrays.asList((V[])results.clone())), timedOut.build(), failed.build()));
+        }
+    }
+
+    private static void logQuietly(Throwable e) {
+        for (Throwable c = e; null != c; c = c.getCause()) {
+            if (c instanceof SocketTimeoutException) {
+                log.warn("Exception Uncaught!!!", e);
+                return;
+            }
+        }
+        log.error("Exception Uncaught!!!", e);
+    }
+
     private static Function1<Pair<Object, Object>, Object> SECOND = new Function1<Pair<Object,Object>, Object>() {
         @Override
         public Object apply(Pair<Object, Object> pair) {
@@ -0,0 +1,192 @@
+package com.henry4j.commons.base;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.henry4j.commons.base.Functions.Function0;
+
+// Issues a backup (hedged) request when a call has not succeeded after a delay, takes the first success, and cancels
+// the loser, so that a slow backend rarely delays a fan-out. The delay is either fixed, or a percentile of recent
+// latencies from call to first success, e.g. the 95th percentile hedges about 5% of calls. A request that fails
+// before the delay is backed up at once, and a call fails only when both the request and its backup failed. Counters
+// of hedges issued and won tell whether the delay is worth tuning.
+//
+// References:
+// https://research.google/pubs/the-tail-at-scale/
+public class Hedger {
+    private static final int SAMPLES = 1024;
+    private static final int RESAMPLE_INTERVAL = 64;
+    private final ScheduledExecutorService scheduler;
+    private final double percentile; // NaN for a fixed delay.
+    private final long[] latencies = new long[SAMPLES]; // in micros, in a ring.
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    private volatile long delayMicros;
+    private long samples;
+
+    private Hedger(ScheduledExecutorService scheduler, double percentile, long delayMillis) {
+        checkArgument(delayMillis >= 0, "delayMillis must not be negative: %s", delayMillis);
+        this.scheduler = scheduler;
+        this.percentile = percentile;
+        this.delayMicros = TimeUnit.MILLISECONDS.toMicros(delayMillis);
+    }
+
+    public static Hedger afterDelay(ScheduledExecutorService scheduler, long delayMillis) {
+        return new Hedger(scheduler, Double.NaN, delayMillis);
+    }
+
+    // hedges after the percentile (0, 100) of recent latencies, or after the initial delay until enough are sampled.
+    public static Hedger afterPercentile(ScheduledExecutorService scheduler, double percentile, long initialDelayMillis) {
+        checkArgument(percentile > 0 && percentile < 100, "percentile out of range: %s", percentile);
+        return new Hedger(scheduler, percentile, initialDelayMillis);
+    }
+
+    public <V> ListenableFuture<V> call(Function0<ListenableFuture<V>> call) {
+        calls.incrementAndGet();
+        final Hedge<V> hedge = new Hedge<V>(call);
+        hedge.issue(false);
+        if (!hedge.result.isDone() && !hedge.backedUp()) {
+            final ScheduledFuture<?> timer = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    hedge.backUp();
+                }
+            }, delayMicros, TimeUnit.MICROSECONDS);
+            hedge.result.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    timer.cancel(false);
+                }
+            }, MoreExecutors.sameThreadExecutor());
+        }
+        return hedge.result;
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+
+    public long hedges() {
+        return hedges.get();
+    }
+
+    // returns how many hedges succeeded before the requests they backed up.
+    public long hedgesWon() {
+        return hedgesWon.get();
+    }
+
+    public long delayMillis() {
+        return TimeUnit.MICROSECONDS.toMillis(delayMicros);
+    }
+
+    private synchronized void record(long micros) {
+        if (Double.isNaN(percentile)) {
+            return;
+        }
+        latencies[(int)(samples++ % SAMPLES)] = micros;
+        if (samples >= RESAMPLE_INTERVAL && samples % RESAMPLE_INTERVAL == 0) {
+            long[] sorted = Arrays.copyOf(latencies, (int)Math.min(samples, SAMPLES));
+            Arrays.sort(sorted);
+            delayMicros = sorted[(int)Math.min(sorted.length - 1, Math.ceil(percentile / 100 * sorted.length) - 1)];
+        }
+    }
+
+    private class Hedge<V> {
+        private final Function0<ListenableFuture<V>> call;
+        private final SettableFuture<V> result = SettableFuture.create();
+        private final List<ListenableFuture<V>> requests = new ArrayList<ListenableFuture<V>>(2);
+        private final long begins = System.nanoTime();
+        private int running = 2; // counts the backup from the start, so that a failed request alone fails no call.
+        private boolean backedUp;
+
+        Hedge(Function0<ListenableFuture<V>> call) {
+            this.call = call;
+            result.addListener(new Runnable() {
+                @Override
+                public void run() {
+                    cancelAll();
+                }
+            }, MoreExecutors.sameThreadExecutor());
+        }
+
+        synchronized boolean backedUp() {
+            return backedUp;
+        }
+
+        // issues the backup once, either after the delay, or as soon as the request fails.
+        void backUp() {
+            synchronized (this) {
+                if (backedUp) {
+                    return;
+                }
+                backedUp = true;
+            }
+            if (!result.isDone()) {
+                hedges.incrementAndGet();
+                issue(true);
+            }
+        }
+
+        void issue(final boolean backup) {
+            ListenableFuture<V> request;
+            try {
+                request = call.apply();
+            } catch (RuntimeException e) {
+                request = Futures.immediateFailedFuture(e);
+            }
+            synchronized (this) {
+                requests.add(request);
+            }
+            Futures.addCallback(request, new FutureCallback<V>() {
+                @Override
+                public void onSuccess(V value) {
+                    if (result.set(value)) {
+                        if (backup) {
+                            hedgesWon.incrementAndGet();
+                        }
+                        record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begins));
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    boolean last;
+                    synchronized (Hedge.this) {
+                        last = --running == 0;
+                    }
+                    if (last) {
+                        result.setException(t);
+                    } else if (!backup) {
+                        backUp();
+                    }
+                }
+            });
+            if (result.isDone()) { // cancels a request issued as the result completed.
+                request.cancel(true);
+            }
+        }
+
+        void cancelAll() {
+            List<ListenableFuture<V>> copy;
+            synchronized (this) {
+                copy = new ArrayList<ListenableFuture<V>>(requests);
+            }
+            for (ListenableFuture<V> request : copy) {
+                request.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.henry4j.commons.base;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.SneakyThrows;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.collect.ImmutableList;
+
+/*
+ * This class decodes a stream of top-level JSON values fed in arbitrary-sized chunks, e.g. off a NIO channel.
+ * It never blocks; it scans each chunk for the boundaries of top-level values (objects, arrays, strings, or scalars
+ * separated by whitespace), keeps only the bytes of a value still in progress, and maps each value once complete.
+ * When a value fails to map, feed skips it and rethrows; values completed before it come with the next call.
+ * Not thread-safe; use one per connection.
+ */
+public class JsonFeeder<T> {
+    private final ObjectReader reader;
+    private final List<T> completed = new ArrayList<T>(); // values mapped but not yet returned.
+    private byte[] buffer = new byte[256];
+    private int limit; // the number of bytes buffered.
+    private int scan; // the index of the next byte to scan.
+    private int begin = -1; // the index where the pending value begins, or -1 if none.
+    private int depth; // the nesting depth of objects and arrays.
+    private boolean quoted;
+    private boolean escaped;
+    private boolean scalar; // true when in a top-level number, true, false, or null.
+
+    JsonFeeder(ObjectReader reader) {
+        this.reader = reader;
+    }
+
+    // consumes all remaining bytes of the chunk, and returns values completed by the chunk.
+    public ImmutableList<T> feed(ByteBuffer chunk) {
+        append(chunk);
+        while (scan < limit) {
+            byte b = buffer[scan];
+            if (quoted) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    quoted = false;
+                    if (depth == 0) {
+                        complete(scan + 1);
+                    }
+                }
+            } else if (scalar) {
+                if (isWhitespace(b) || isStructural(b)) {
+                    scalar = false;
+                    complete(scan);
+                    continue; // rescans this byte as it may begin the next value.
+                }
+            } else if (depth > 0) {
+                if (b == '"') {
+                    quoted = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    complete(scan + 1);
+                }
+            } else if (!isWhitespace(b)) {
+                begin = scan;
+                if (b == '{' || b == '[') {
+                    depth = 1;
+                } else if (b == '"') {
+                    quoted = true;
+                } else {
+                    scalar = true;
+                }
+            }
+            scan++;
+        }
+        compact();
+        return drain();
+    }
+
+    // signals the end of input, and returns a trailing scalar if any; throws up if a value is left incomplete.
+    @SneakyThrows({ JsonParseException.class })
+    public ImmutableList<T> finish() {
+        try {
+            if (scalar) {
+                scalar = false;
+                complete(limit);
+            } else if (begin >= 0) {
+                throw new JsonParseException("Unexpected end-of-input within a top-level value", JsonLocation.NA);
+            }
+            return drain();
+        } finally {
+            reset();
+        }
+    }
+
+    // returns the number of bytes held for the value in progress.
+    public int pending() {
+        return begin < 0 ? 0 : limit - begin;
+    }
+
+    public void reset() {
+        limit = scan = depth = 0;
+        begin = -1;
+        quoted = escaped = scalar = false;
+        completed.clear();
+    }
+
+    // maps the value that ends at the index; on failure, skips the value so that the next feed resumes after it.
+    @SneakyThrows({ JsonParseException.class, IOException.class })
+    private void complete(int end) {
+        int offset = begin;
+        begin = -1;
+        try {
+            completed.add(reader.<T> readValue(buffer, offset, end - offset));
+        } catch (IOException | RuntimeException e) {
+            scan = end;
+            compact();
+            throw e;
+        }
+    }
+
+    private ImmutableList<T> drain() {
+        ImmutableList<T> values = ImmutableList.copyOf(completed);
+        completed.clear();
+        return values;
+    }
+
+    private void append(ByteBuffer chunk) {
+        int n = chunk.remaining();
+        if (limit + n > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, limit + n));
+        }
+        chunk.get(buffer, limit, n);
+        limit += n;
+    }
+
+    // discards bytes of completed values, so that the buffer only grows as large as a single value.
+    private void compact() {
+        int from = begin < 0 ? scan : begin; // keeps bytes yet to scan after a value that failed to map.
+        if (from > 0) {
+            System.arraycopy(buffer, from, buffer, 0, limit - from);
+            limit -= from;
+            scan -= from;
+            if (begin > 0) {
+                begin = 0;
+            }
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static boolean isStructural(byte b) {
+        return b == '{' || b == '}' || b == '[' || b == ']' || b == '"' || b == ',';
+    }
+}
@@ -0,0 +1,316 @@
+package com.henry4j.commons.base;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import com.google.common.base.Throwables;
+import com.henry4j.commons.base.Functions.Function1;
+import com.henry4j.commons.base.Functions.Function2;
+import com.henry4j.commons.base.Functions.Function3;
+import com.henry4j.commons.base.Functions.Function4;
+import com.henry4j.commons.base.Functions.Function5;
+import com.henry4j.commons.base.Functions.Function6;
+import com.henry4j.commons.base.Functions.Function7;
+import com.henry4j.commons.base.Functions.Function8;
+import com.henry4j.commons.collect.BoundedCache;
+import com.henry4j.commons.collect.Pair;
+import com.henry4j.commons.collect.Triple;
+
+// Memoizes pure functions of 1 to 8 arguments in an LRU BoundedCache of the capacity, keyed on an argument, a cached
+// Pair or Triple of arguments, or a list of 4 or more arguments. Null arguments and results are memoized as well.
+// A result expires ttlMillis after it was computed, unless ttlMillis is 0. Computation is single-flight: concurrent
+// misses on a key wait for the one computing it instead of computing it again; a failure is not memoized.
+public abstract class Memoizer<R> {
+    private static final Object NULL = new Object(); // stands for a null key in the map of computations in flight.
+    private final BoundedCache<Object, Entry<R>> cache;
+    private final long ttlNanos;
+    private final ConcurrentMap<Object, FutureTask<R>> inFlight = new ConcurrentHashMap<Object, FutureTask<R>>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    Memoizer(int capacity, long ttlMillis) {
+        checkArgument(ttlMillis >= 0, "ttlMillis must not be negative: %s", ttlMillis);
+        this.cache = new BoundedCache<Object, Entry<R>>(capacity, BoundedCache.<Object> lru());
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    public static <T1, R> Memoized1<T1, R> memoize(Function1<T1, R> function, int capacity) {
+        return memoize(function, capacity, 0);
+    }
+
+    public static <T1, R> Memoized1<T1, R> memoize(Function1<T1, R> function, int capacity, long ttlMillis) {
+        return new Memoized1<T1, R>(function, capacity, ttlMillis);
+    }
+
+    public static <T1, T2, R> Memoized2<T1, T2, R> memoize(Function2<T1, T2, R> function, int capacity) {
+        return memoize(function, capacity, 0);
+    }
+
+    public static <T1, T2, R> Memoized2<T1, T2, R> memoize(Function2<T1, T2, R> function, int capacity, long ttlMillis) {
+        return new Memoized2<T1, T2, R>(function, capacity, ttlMillis);
+    }
+
+    public static <T1, T2, T3, R> Memoized3<T1, T2, T3, R> memoize(Function3<T1, T2, T3, R> function, int capacity) {
+        return memoize(function, capacity, 0);
+    }
+
+    public static <T1, T2, T3, R> Memoized3<T1, T2, T3, R> memoize(Function3<T1, T2, T3, R> function, int capacity, long ttlMillis) {
+        return new Memoized3<T1, T2, T3, R>(function, capacity, ttlMillis);
+    }
+
+    public static <T1, T2, T3, T4, R> Memoized4<T1, T2, T3, T4, R> memoize(Function4<T1, T2, T3, T4, R> function, int capacity) {
+        return memoize(function, capacity, 0);
+    }
+
+    public static <T1, T2, T3, T4, R> Memoized4<T1, T2, T3, T4, R> memoize(Function4<T1, T2, T3, T4, R> function, int capacity, long ttlMillis) {
+        return new Memoized4<T1, T2, T3, T4, R>(function, capacity, ttlMillis);
+    }
+
+    public static <T1, T2, T3, T4, T5, R> Memoized5<T1, T2, T3, T4, T5, R> memoize(Function5<T1, T2, T3, T4, T5, R> function, int capacity) {
+        return memoize(function, capacity, 0);
+    }
+
+    public static <T1, T2, T3, T4, T5, R> Memoized5<T1, T2, T3, T4, T5, R> memoize(Function5<T1, T2, T3, T4, T5, R> function, int capacity, long ttlMillis) {
+        return new Memoized5<T1, T2, T3, T4, T5, R>(function, capacity, ttlMillis);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, R> Memoized6<T1, T2, T3, T4, T5, T6, R> memoize(Function6<T1, T2, T3, T4, T5, T6, R> function, int capacity) {
+        return memoize(function, capacity, 0);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, R> Memoized6<T1, T2, T3, T4, T5, T6, R> memoize(Function6<T1, T2, T3, T4, T5, T6, R> function, int capacity, long ttlMillis) {
+        return new Memoized6<T1, T2, T3, T4, T5, T6, R>(function, capacity, ttlMillis);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, R> Memoized7<T1, T2, T3, T4, T5, T6, T7, R> memoize(Function7<T1, T2, T3, T4, T5, T6, T7, R> function, int capacity) {
+        return memoize(function, capacity, 0);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, R> Memoized7<T1, T2, T3, T4, T5, T6, T7, R> memoize(Function7<T1, T2, T3, T4, T5, T6, T7, R> function, int capacity, long ttlMillis) {
+        return new Memoized7<T1, T2, T3, T4, T5, T6, T7, R>(function, capacity, ttlMillis);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, T8, R> Memoized8<T1, T2, T3, T4, T5, T6, T7, T8, R> memoize(Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> function, int capacity) {
+        return memoize(function, capacity, 0);
+    }
+
+    public static <T1, T2, T3, T4, T5, T6, T7, T8, R> Memoized8<T1, T2, T3, T4, T5, T6, T7, T8, R> memoize(Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> function, int capacity, long ttlMillis) {
+        return new Memoized8<T1, T2, T3, T4, T5, T6, T7, T8, R>(function, capacity, ttlMillis);
+    }
+
+    // returns hits and misses of calls, where an expired result counts as a miss, and evictions of the cache.
+    public BoundedCache.Stats stats() {
+        BoundedCache.Stats stats = cache.stats();
+        return new BoundedCache.Stats(hits.get(), misses.get(), stats.evictions(), stats.rejections());
+    }
+
+    @SneakyThrows({ InterruptedException.class })
+    protected R get(final Object key, final Callable<R> computation) {
+        Entry<R> entry = fresh(key);
+        if (null != entry) {
+            hits.incrementAndGet();
+            return entry.value;
+        }
+        misses.incrementAndGet();
+        Object k = null != key ? key : NULL;
+        FutureTask<R> task = new FutureTask<R>(new Callable<R>() {
+            @Override
+            public R call() throws Exception {
+                Entry<R> entry = fresh(key); // re-checks, as another computation may have completed in between.
+                if (null == entry) {
+                    entry = new Entry<R>(computation.call(), ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE);
+                    cache.put(key, entry);
+                }
+                return entry.value;
+            }
+        });
+        FutureTask<R> computing = inFlight.putIfAbsent(k, task);
+        if (null == computing) {
+            try {
+                task.run();
+            } finally {
+                inFlight.remove(k, task);
+            }
+            computing = task;
+        }
+        try {
+            return computing.get();
+        } catch (ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    private Entry<R> fresh(Object key) {
+        Entry<R> entry = cache.getIfPresent(key);
+        return null != entry && (ttlNanos == 0 || System.nanoTime() - entry.expiresNanos < 0) ? entry : null;
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry<R> {
+        private final R value;
+        private final long expiresNanos;
+    }
+
+    public static class Memoized1<T1, R> extends Memoizer<R> implements Function1<T1, R> {
+        private final Function1<T1, R> function;
+
+        private Memoized1(Function1<T1, R> function, int capacity, long ttlMillis) {
+            super(capacity, ttlMillis);
+            this.function = function;
+        }
+
+        @Override
+        public R apply(final T1 t1) {
+            return get(t1, new Callable<R>() {
+                @Override
+                public R call() {
+                    return function.apply(t1);
+                }
+            });
+        }
+    }
+
+    public static class Memoized2<T1, T2, R> extends Memoizer<R> implements Function2<T1, T2, R> {
+        private final Function2<T1, T2, R> function;
+
+        private Memoized2(Function2<T1, T2, R> function, int capacity, long ttlMillis) {
+            super(capacity, ttlMillis);
+            this.function = function;
+        }
+
+        @Override
+        public R apply(final T1 t1, final T2 t2) {
+            return get(Pair.cached(t1, t2), new Callable<R>() {
+                @Override
+                public R call() {
+                    return function.apply(t1, t2);
+                }
+            });
+        }
+    }
+
+    public static class Memoized3<T1, T2, T3, R> extends Memoizer<R> implements Function3<T1, T2, T3, R> {
+        private final Function3<T1, T2, T3, R> function;
+
+        private Memoized3(Function3<T1, T2, T3, R> function, int capacity, long ttlMillis) {
+            super(capacity, ttlMillis);
+            this.function = function;
+        }
+
+        @Override
+        public R apply(final T1 t1, final T2 t2, final T3 t3) {
+            return get(Triple.cached(t1, t2, t3), new Callable<R>() {
+                @Override
+                public R call() {
+                    return function.apply(t1, t2, t3);
+                }
+            });
+        }
+    }
+
+    public static class Memoized4<T1, T2, T3, T4, R> extends Memoizer<R> implements Function4<T1, T2, T3, T4, R> {
+        private final Function4<T1, T2, T3, T4, R> function;
+
+        private Memoized4(Function4<T1, T2, T3, T4, R> function, int capacity, long ttlMillis) {
+            super(capacity, ttlMillis);
+            this.function = function;
+        }
+
+        @Override
+        public R apply(final T1 t1, final T2 t2, final T3 t3, final T4 t4) {
+            return get(Arrays.<Object> asList(t1, t2, t3, t4), new Callable<R>() {
+                @Override
+                public R call() {
+                    return function.apply(t1, t2, t3, t4);
+                }
+            });
+        }
+    }
+
+    public static class Memoized5<T1, T2, T3, T4, T5, R> extends Memoizer<R> implements Function5<T1, T2, T3, T4, T5, R> {
+        private final Function5<T1, T2, T3, T4, T5, R> function;
+
+        private Memoized5(Function5<T1, T2, T3, T4, T5, R> function, int capacity, long ttlMillis) {
+            super(capacity, ttlMillis);
+            this.function = function;
+        }
+
+        @Override
+        public R apply(final T1 t1, final T2 t2, final T3 t3, final T4 t4, final T5 t5) {
+            return get(Arrays.<Object> asList(t1, t2, t3, t4, t5), new Callable<R>() {
+                @Override
+                public R call() {
+                    return function.apply(t1, t2, t3, t4, t5);
+                }
+            });
+        }
+    }
+
+    public static class Memoized6<T1, T2, T3, T4, T5, T6, R> extends Memoizer<R> implements Function6<T1, T2, T3, T4, T5, T6, R> {
+        private final Function6<T1, T2, T3, T4, T5, T6, R> function;
+
+        private Memoized6(Function6<T1, T2, T3, T4, T5, T6, R> function, int capacity, long ttlMillis) {
+            super(capacity, ttlMillis);
+            this.function = function;
+        }
+
+        @Override
+        public R apply(final T1 t1, final T2 t2, final T3 t3, final T4 t4, final T5 t5, final T6 t6) {
+            return get(Arrays.<Object> asList(t1, t2, t3, t4, t5, t6), new Callable<R>() {
+                @Override
+                public R call() {
+                    return function.apply(t1, t2, t3, t4, t5, t6);
+                }
+            });
+        }
+    }
+
+    public static class Memoized7<T1, T2, T3, T4, T5, T6, T7, R> extends Memoizer<R> implements Function7<T1, T2, T3, T4, T5, T6, T7, R> {
+        private final Function7<T1, T2, T3, T4, T5, T6, T7, R> function;
+
+        private Memoized7(Function7<T1, T2, T3, T4, T5, T6, T7, R> function, int capacity, long ttlMillis) {
+            super(capacity, ttlMillis);
+            this.function = function;
+        }
+
+        @Override
+        public R apply(final T1 t1, final T2 t2, final T3 t3, final T4 t4, final T5 t5, final T6 t6, final T7 t7) {
+            return get(Arrays.<Object> asList(t1, t2, t3, t4, t5, t6, t7), new Callable<R>() {
+                @Override
+                public R call() {
+                    return function.apply(t1, t2, t3, t4, t5, t6, t7);
+                }
+            });
+        }
+    }
+
+    public static class Memoized8<T1, T2, T3, T4, T5, T6, T7, T8, R> extends Memoizer<R> implements Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> {
+        private final Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> function;
+
+        private Memoized8(Function8<T1, T2, T3, T4, T5, T6, T7, T8, R> function, int capacity, long ttlMillis) {
+            super(capacity, ttlMillis);
+            this.function = function;
+        }
+
+        @Override
+        public R apply(final T1 t1, final T2 t2, final T3 t3, final T4 t4, final T5 t5, final T6 t6, final T7 t7, final T8 t8) {
+            return get(Arrays.<Object> asList(t1, t2, t3, t4, t5, t6, t7, t8), new Callable<R>() {
+                @Override
+                public R call() {
+                    return function.apply(t1, t2, t3, t4, t5, t6, t7, t8);
+                }
+            });
+        }
+    }
+}
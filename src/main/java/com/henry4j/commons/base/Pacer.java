@@ -0,0 +1,97 @@
+package com.henry4j.commons.base;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.henry4j.commons.base.Actions.Action1;
+
+// Paces elements of each stream by a token bucket of the rate and burst, i.e. up to burst elements at once and then
+// one per 1/rate second, on a shared scheduled executor instead of a sleeping thread per stream (cf. listAsleep).
+// Each call to emit or list starts a stream with its own full bucket; a stream takes a scheduler thread only while
+// it emits, so that a few threads pace thousands of streams. Sinks run on scheduler threads, and must not block.
+public class Pacer {
+    private final ScheduledExecutorService scheduler;
+    private final double permitsPerNano;
+    private final int burst;
+
+    public Pacer(ScheduledExecutorService scheduler, double permitsPerSecond, int burst) {
+        checkArgument(permitsPerSecond > 0, "permitsPerSecond must be positive: %s", permitsPerSecond);
+        checkArgument(burst > 0, "burst must be positive: %s", burst);
+        this.scheduler = scheduler;
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+    }
+
+    // delivers elements to the sink at the pace; the future fails with the first failure of the sink, and
+    // cancelling it stops the stream.
+    public <E> ListenableFuture<Void> emit(Iterable<E> from, Action1<? super E> sink) {
+        Stream<E> stream = new Stream<E>(from.iterator(), sink);
+        scheduler.execute(stream);
+        return stream.done;
+    }
+
+    // collects elements at the pace.
+    public <E> ListenableFuture<List<E>> list(Iterable<E> from) {
+        final List<E> list = Collections.synchronizedList(new ArrayList<E>());
+        return Futures.transform(emit(from, new Action1<E>() {
+            @Override
+            public void apply(E e) {
+                list.add(e);
+            }
+        }), new Function<Void, List<E>>() {
+            @Override
+            public List<E> apply(Void input) {
+                return Collections.unmodifiableList(list);
+            }
+        });
+    }
+
+    private class Stream<E> implements Runnable {
+        private final Iterator<E> elements;
+        private final Action1<? super E> sink;
+        private final SettableFuture<Void> done = SettableFuture.create();
+        private double permits = burst;
+        private long refilledNanos = System.nanoTime();
+
+        Stream(Iterator<E> elements, Action1<? super E> sink) {
+            this.elements = elements;
+            this.sink = sink;
+        }
+
+        // runs on one scheduler thread at a time, as each run schedules the next one.
+        @Override
+        public void run() {
+            try {
+                long now = System.nanoTime();
+                permits = Math.min(burst, permits + (now - refilledNanos) * permitsPerNano);
+                refilledNanos = now;
+                for (; permits >= 1 && !done.isDone(); permits--) {
+                    if (!elements.hasNext()) {
+                        done.set(null);
+                        return;
+                    }
+                    sink.apply(elements.next());
+                }
+                if (!done.isDone()) {
+                    if (elements.hasNext()) {
+                        scheduler.schedule(this, (long)Math.ceil((1 - permits) / permitsPerNano), TimeUnit.NANOSECONDS);
+                    } else {
+                        done.set(null);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                done.setException(e);
+            }
+        }
+    }
+}
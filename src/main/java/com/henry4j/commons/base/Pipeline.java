@@ -0,0 +1,241 @@
+package com.henry4j.commons.base;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.henry4j.commons.base.Actions.Action1;
+import com.henry4j.commons.base.Functions.Function1;
+import com.henry4j.commons.base.Predicates.Predicate1;
+
+// A lazy, fluent counterpart of Extensions.map, select and partition, whose stages fuse into a single loop over the
+// source: a terminal operation pushes each element through a chain of sinks, instead of pulling it through nested
+// iterator views and Function adapters, and stops the loop as soon as the result is known (first, find, any, all).
+// Every terminal operation re-runs the stages, unless memoize() caches what they yield. Not thread-safe to build,
+// but a memoized pipeline may be shared; concurrent first runs may each compute the cache, and the last one wins.
+public abstract class Pipeline<E> implements Iterable<E> {
+    // accepts an element, and returns false to stop the loop.
+    interface Sink<E> {
+        boolean accept(E e);
+    }
+
+    // pushes elements to the sink, and returns false if the sink stopped the loop.
+    abstract boolean push(Sink<? super E> sink);
+
+    public static <E> Pipeline<E> from(final Iterable<E> source) {
+        return new Pipeline<E>() {
+            @Override
+            boolean push(Sink<? super E> sink) {
+                if (source instanceof List && source instanceof RandomAccess) { // avoids an iterator.
+                    List<E> list = (List<E>)source;
+                    for (int i = 0, n = list.size(); i < n; i++) {
+                        if (!sink.accept(list.get(i))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+                for (E e : source) {
+                    if (!sink.accept(e)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+    }
+
+    public <V> Pipeline<V> map(final Function1<? super E, ? extends V> function) {
+        final Pipeline<E> upstream = this;
+        return new Pipeline<V>() {
+            @Override
+            boolean push(final Sink<? super V> sink) {
+                return upstream.push(new Sink<E>() {
+                    @Override
+                    public boolean accept(E e) {
+                        return sink.accept(function.apply(e));
+                    }
+                });
+            }
+        };
+    }
+
+    public Pipeline<E> select(final Predicate1<? super E> predicate) {
+        final Pipeline<E> upstream = this;
+        return new Pipeline<E>() {
+            @Override
+            boolean push(final Sink<? super E> sink) {
+                return upstream.push(new Sink<E>() {
+                    @Override
+                    public boolean accept(E e) {
+                        return !predicate.apply(e) || sink.accept(e);
+                    }
+                });
+            }
+        };
+    }
+
+    // groups elements into consecutive lists of the size, where the last one may be smaller.
+    public Pipeline<List<E>> partition(final int size) {
+        checkArgument(size > 0, "size must be positive: %s", size);
+        final Pipeline<E> upstream = this;
+        return new Pipeline<List<E>>() {
+            @Override
+            boolean push(final Sink<? super List<E>> sink) {
+                final List<List<E>> partial = new ArrayList<List<E>>(1);
+                partial.add(new ArrayList<E>(size));
+                boolean completed = upstream.push(new Sink<E>() {
+                    @Override
+                    public boolean accept(E e) {
+                        List<E> partition = partial.get(0);
+                        partition.add(e);
+                        if (partition.size() < size) {
+                            return true;
+                        }
+                        partial.set(0, new ArrayList<E>(size));
+                        return sink.accept(Collections.unmodifiableList(partition));
+                    }
+                });
+                List<E> last = partial.get(0);
+                return completed && (last.isEmpty() || sink.accept(Collections.unmodifiableList(last)));
+            }
+        };
+    }
+
+    public Pipeline<E> limit(final int count) {
+        checkArgument(count >= 0, "count must not be negative: %s", count);
+        final Pipeline<E> upstream = this;
+        return new Pipeline<E>() {
+            @Override
+            boolean push(final Sink<? super E> sink) {
+                if (count == 0) {
+                    return true;
+                }
+                final int[] remaining = { count };
+                final boolean[] stopped = { false }; // tells the downstream sink stopping the loop apart from the limit.
+                upstream.push(new Sink<E>() {
+                    @Override
+                    public boolean accept(E e) {
+                        if (!sink.accept(e)) {
+                            stopped[0] = true;
+                            return false;
+                        }
+                        return --remaining[0] > 0;
+                    }
+                });
+                return !stopped[0];
+            }
+        };
+    }
+
+    // caches elements on the first run of the stages so far, and replays them on later runs.
+    public Pipeline<E> memoize() {
+        final Pipeline<E> upstream = this;
+        return new Pipeline<E>() {
+            private volatile List<E> cache;
+
+            @Override
+            boolean push(Sink<? super E> sink) {
+                List<E> list = cache;
+                if (null == list) {
+                    list = cache = upstream.toList();
+                }
+                for (int i = 0, n = list.size(); i < n; i++) {
+                    if (!sink.accept(list.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public Pipeline<E> memoize() {
+                return this;
+            }
+        };
+    }
+
+    // returns elements in an unmodifiable list, which may contain nulls unlike ImmutableList.
+    public List<E> toList() {
+        final List<E> list = new ArrayList<E>();
+        push(new Sink<E>() {
+            @Override
+            public boolean accept(E e) {
+                list.add(e);
+                return true;
+            }
+        });
+        return Collections.unmodifiableList(list);
+    }
+
+    // iterates over the elements the stages yield on this call.
+    @Override
+    public Iterator<E> iterator() {
+        return toList().iterator();
+    }
+
+    public void each(final Action1<? super E> process) {
+        push(new Sink<E>() {
+            @Override
+            public boolean accept(E e) {
+                process.apply(e);
+                return true;
+            }
+        });
+    }
+
+    public int count() {
+        final int[] count = { 0 };
+        push(new Sink<E>() {
+            @Override
+            public boolean accept(E e) {
+                count[0]++;
+                return true;
+            }
+        });
+        return count[0];
+    }
+
+    // returns the first element, or null if none.
+    public E first() {
+        return find(null);
+    }
+
+    // returns the first element that satisfies the predicate (nullable to match any), or null if none.
+    public E find(final Predicate1<? super E> predicate) {
+        final List<E> found = new ArrayList<E>(1);
+        push(new Sink<E>() {
+            @Override
+            public boolean accept(E e) {
+                if (null == predicate || predicate.apply(e)) {
+                    found.add(e);
+                    return false;
+                }
+                return true;
+            }
+        });
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    public boolean any(final Predicate1<? super E> predicate) {
+        return !push(new Sink<E>() {
+            @Override
+            public boolean accept(E e) {
+                return !predicate.apply(e);
+            }
+        });
+    }
+
+    public boolean all(final Predicate1<? super E> predicate) {
+        return push(new Sink<E>() {
+            @Override
+            public boolean accept(E e) {
+                return predicate.apply(e);
+            }
+        });
+    }
+}
@@ -90,6 +90,15 @@ public class PojoMapper {
         return objectMapper.readValue(input, typeRef);
     }
 
+    // returns a non-blocking decoder that maps top-level JSON values as soon as their last chunk is fed.
+    public <T> JsonFeeder<T> feeder(Class<T> pojoClass) {
+        return new JsonFeeder<T>(objectMapper.reader(pojoClass));
+    }
+
+    public <T> JsonFeeder<T> feeder(TypeReference<T> typeRef) {
+        return new JsonFeeder<T>(objectMapper.reader(typeRef));
+    }
+
     @SneakyThrows({ JsonProcessingException.class })
     public <T> byte[] toBytes(T pojo) {
         return objectMapper.writeValueAsBytes(pojo);
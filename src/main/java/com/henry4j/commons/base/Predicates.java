@@ -17,4 +17,16 @@ public final class Predicates {
 
     public interface Predicate2<T1, T2> extends Function2<T1, T2, Boolean> {
     }
+
+    public interface IntPredicate1 {
+        boolean apply(int t1);
+    }
+
+    public interface LongPredicate1 {
+        boolean apply(long t1);
+    }
+
+    public interface DoublePredicate1 {
+        boolean apply(double t1);
+    }
 }
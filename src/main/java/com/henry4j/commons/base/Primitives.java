@@ -0,0 +1,140 @@
+package com.henry4j.commons.base;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.NoSuchElementException;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+// Iterables and iterators of ints, longs and doubles, which feed Extensions.intArray, longArray and doubleArray
+// without boxing each element.
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Primitives {
+    public interface IntIterator {
+        boolean hasNext();
+
+        int next();
+    }
+
+    public interface LongIterator {
+        boolean hasNext();
+
+        long next();
+    }
+
+    public interface DoubleIterator {
+        boolean hasNext();
+
+        double next();
+    }
+
+    public interface IntIterable {
+        IntIterator iterator();
+    }
+
+    public interface LongIterable {
+        LongIterator iterator();
+    }
+
+    public interface DoubleIterable {
+        DoubleIterator iterator();
+    }
+
+    // returns an iterable view of the values, which reflects later writes to them.
+    public static IntIterable intIterable(final int... values) {
+        return new IntIterable() {
+            @Override
+            public IntIterator iterator() {
+                return new IntIterator() {
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < values.length;
+                    }
+
+                    @Override
+                    public int next() {
+                        checkNext(hasNext());
+                        return values[i++];
+                    }
+                };
+            }
+        };
+    }
+
+    public static LongIterable longIterable(final long... values) {
+        return new LongIterable() {
+            @Override
+            public LongIterator iterator() {
+                return new LongIterator() {
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < values.length;
+                    }
+
+                    @Override
+                    public long next() {
+                        checkNext(hasNext());
+                        return values[i++];
+                    }
+                };
+            }
+        };
+    }
+
+    public static DoubleIterable doubleIterable(final double... values) {
+        return new DoubleIterable() {
+            @Override
+            public DoubleIterator iterator() {
+                return new DoubleIterator() {
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < values.length;
+                    }
+
+                    @Override
+                    public double next() {
+                        checkNext(hasNext());
+                        return values[i++];
+                    }
+                };
+            }
+        };
+    }
+
+    // returns ints from begin (inclusive) to end (exclusive).
+    public static IntIterable range(final int begin, final int end) {
+        checkArgument(begin <= end, "begin must not exceed end: %s > %s", begin, end);
+        return new IntIterable() {
+            @Override
+            public IntIterator iterator() {
+                return new IntIterator() {
+                    private int i = begin;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < end;
+                    }
+
+                    @Override
+                    public int next() {
+                        checkNext(hasNext());
+                        return i++;
+                    }
+                };
+            }
+        };
+    }
+
+    private static void checkNext(boolean hasNext) {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.henry4j.commons.base;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.henry4j.commons.base.Functions.Function0;
+import com.henry4j.commons.base.Predicates.Predicate1;
+
+// Retries failed async calls up to a number of attempts, waiting a random backoff of up to base * 2^retries millis,
+// capped, between attempts on a shared scheduler instead of a sleeping thread (exponential backoff with full jitter).
+// Retrying calls made through a Hedger covers both slow and failed requests.
+//
+// References:
+// https://aws.amazon.com/blogs/architecture/exponential-backoff-and-jitter/
+public class Retrier {
+    private static final Predicate1<Throwable> ANY = new Predicate1<Throwable>() {
+        @Override
+        public Boolean apply(Throwable t) {
+            return true;
+        }
+    };
+    private final ScheduledExecutorService scheduler;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Predicate1<Throwable> retryable;
+    private final Random random = new Random();
+    private final AtomicLong retries = new AtomicLong();
+
+    public Retrier(ScheduledExecutorService scheduler, int maxAttempts, long baseBackoffMillis, long maxBackoffMillis) {
+        this(scheduler, maxAttempts, baseBackoffMillis, maxBackoffMillis, ANY);
+    }
+
+    public Retrier(ScheduledExecutorService scheduler, int maxAttempts, long baseBackoffMillis, long maxBackoffMillis, Predicate1<Throwable> retryable) {
+        checkArgument(maxAttempts > 0, "maxAttempts must be positive: %s", maxAttempts);
+        checkArgument(baseBackoffMillis >= 0 && baseBackoffMillis <= maxBackoffMillis, "backoff out of range: %s, %s", baseBackoffMillis, maxBackoffMillis);
+        this.scheduler = scheduler;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryable = retryable;
+    }
+
+    // fails with the failure of the last attempt, or the first one not retryable; cancelling it cancels the attempt.
+    public <V> ListenableFuture<V> call(Function0<ListenableFuture<V>> call) {
+        final SettableFuture<V> result = SettableFuture.create();
+        final AtomicReference<ListenableFuture<V>> attempt = new AtomicReference<ListenableFuture<V>>();
+        result.addListener(new Runnable() {
+            @Override
+            public void run() {
+                ListenableFuture<V> f = attempt.get();
+                if (result.isCancelled() && null != f) {
+                    f.cancel(true);
+                }
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        attempt(call, 1, result, attempt);
+        return result;
+    }
+
+    public long retries() {
+        return retries.get();
+    }
+
+    private <V> void attempt(final Function0<ListenableFuture<V>> call, final int attempts, final SettableFuture<V> result, final AtomicReference<ListenableFuture<V>> attempt) {
+        if (result.isDone()) {
+            return;
+        }
+        ListenableFuture<V> f;
+        try {
+            f = call.apply();
+        } catch (RuntimeException e) {
+            f = Futures.immediateFailedFuture(e);
+        }
+        attempt.set(f);
+        if (result.isCancelled()) {
+            f.cancel(true);
+        }
+        Futures.addCallback(f, new FutureCallback<V>() {
+            @Override
+            public void onSuccess(V value) {
+                result.set(value);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                try {
+                    if (attempts < maxAttempts && !result.isDone() && retryable.apply(t)) {
+                        scheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                attempt(call, attempts + 1, result, attempt);
+                            }
+                        }, backoffMillis(attempts), TimeUnit.MILLISECONDS);
+                        retries.incrementAndGet();
+                    } else {
+                        result.setException(t);
+                    }
+                } catch (RuntimeException | Error e) { // e.g. a shut-down scheduler, which would otherwise hang the call.
+                    e.addSuppressed(t);
+                    result.setException(e);
+                }
+            }
+        });
+    }
+
+    private long backoffMillis(int retries) {
+        int shift = Math.min(retries - 1, 62);
+        long cap = baseBackoffMillis > (maxBackoffMillis >> shift) ? maxBackoffMillis : baseBackoffMillis << shift;
+        return (long)(random.nextDouble() * (cap + 1));
+    }
+}
@@ -0,0 +1,153 @@
+package com.henry4j.commons.base;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.SneakyThrows;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+// A group of tasks forked on an executor, e.g. of ThreadPerTaskExecutors, that ends together, after the fashion of
+// structured concurrency: the first failure cancels the other tasks, join waits for all of them and rethrows that
+// failure, and close cancels tasks left running, and waits for their threads to leave them, so that no task outlives
+// the try-with-resources block of its scope:
+//
+// try (TaskScope scope = new TaskScope(executor)) {
+//     ListenableFuture<User> user = scope.fork(findUser);
+//     ListenableFuture<Order> order = scope.fork(fetchOrder);
+//     scope.join();
+//     ...
+// }
+//
+// Forks are ListenableFutures, which compose with Extensions.reduce, callback and combine. The scope does not shut
+// down the executor.
+public class TaskScope implements AutoCloseable {
+    private final ListeningExecutorService executor;
+    private final List<ListenableFuture<?>> forks = new ArrayList<ListenableFuture<?>>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    private boolean closed;
+    private int running; // tasks whose threads have yet to leave them.
+    private final ThreadLocal<Boolean> inTask = new ThreadLocal<Boolean>(); // true on threads running a task.
+
+    public TaskScope(ListeningExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public <V> ListenableFuture<V> fork(final Callable<V> task) {
+        ListenableFuture<V> fork;
+        synchronized (this) {
+            checkState(!closed, "closed");
+            fork = executor.submit(new Callable<V>() {
+                @Override
+                public V call() throws Exception {
+                    synchronized (TaskScope.this) {
+                        if (closed) { // may start after close cancelled it, as cancellation races with run.
+                            throw new CancellationException("closed");
+                        }
+                        running++;
+                    }
+                    inTask.set(true);
+                    try {
+                        return task.call();
+                    } finally {
+                        inTask.remove();
+                        synchronized (TaskScope.this) {
+                            running--;
+                            TaskScope.this.notifyAll(); // wakes close, which waits for 0, or 1 if called from a task.
+                        }
+                    }
+                }
+            });
+            forks.add(fork);
+        }
+        Futures.addCallback(fork, new FutureCallback<V>() {
+            @Override
+            public void onSuccess(V result) {
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (!(t instanceof CancellationException) && failure.compareAndSet(null, t)) {
+                    cancelAll();
+                }
+            }
+        });
+        return fork;
+    }
+
+    // waits for all tasks, including ones forked meanwhile, and rethrows the first failure if any.
+    @SneakyThrows({ InterruptedException.class })
+    public TaskScope join() {
+        for (int i = 0; ; i++) {
+            ListenableFuture<?> fork;
+            synchronized (this) {
+                if (i == forks.size()) {
+                    break;
+                }
+                fork = forks.get(i);
+            }
+            try {
+                fork.get();
+            } catch (ExecutionException e) { // may precede the callback of the fork.
+                if (!(e.getCause() instanceof CancellationException) && failure.compareAndSet(null, e.getCause())) {
+                    cancelAll();
+                }
+            } catch (CancellationException e) {
+                // cancelled by the first failure.
+            }
+        }
+        Throwable t = failure.get();
+        if (null != t) {
+            throw Throwables.propagate(t);
+        }
+        return this;
+    }
+
+    // cancels tasks left running, interrupting them, and waits for their threads to leave them. A task may close its
+    // own scope, e.g. one handed down to it; it then cancels itself too, waits for the others, and returns interrupted.
+    @Override
+    @SneakyThrows({ InterruptedException.class })
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        boolean self = Boolean.TRUE.equals(inTask.get());
+        cancelAll();
+        synchronized (this) {
+            boolean interrupted = false;
+            while (running > (self ? 1 : 0)) { // excludes the caller, which cannot leave its task while waiting.
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    if (!self) {
+                        throw e;
+                    }
+                    interrupted = true; // as cancelAll interrupts the caller among the tasks.
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void cancelAll() {
+        List<ListenableFuture<?>> copy;
+        synchronized (this) {
+            copy = new ArrayList<ListenableFuture<?>>(forks);
+        }
+        for (ListenableFuture<?> fork : copy) {
+            fork.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.henry4j.commons.base;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+// Executors that start a thread per task, for blocking-style code such as joinQuietly or TaskScope.join.
+// On Java 21 or later, the threads are virtual, so that tens of thousands of tasks may block at once; on older
+// runtimes, they are daemon platform threads of a cached pool. The lookup is reflective, so that the library keeps
+// building for its legacy target.
+@Log4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ThreadPerTaskExecutors {
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = virtualThreadPerTaskExecutorFactory();
+
+    public static boolean isVirtual() {
+        return null != NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR;
+    }
+
+    // returns a new executor, which the caller shuts down.
+    public static ListeningExecutorService newThreadPerTaskExecutor() {
+        if (isVirtual()) {
+            try {
+                return MoreExecutors.listeningDecorator((ExecutorService)NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null));
+            } catch (ReflectiveOperationException e) {
+                log.warn("Falling back to platform threads!", e);
+            }
+        }
+        return MoreExecutors.listeningDecorator(Executors.newCachedThreadPool(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("task-%d").build()));
+    }
+
+    private static Method virtualThreadPerTaskExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
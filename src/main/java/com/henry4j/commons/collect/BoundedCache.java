@@ -0,0 +1,291 @@
+package com.henry4j.commons.collect;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import com.google.common.collect.Ordering;
+import com.henry4j.commons.base.Functions.Function1;
+
+// A bounded, thread-safe cache whose eviction order is a PriorityHeap of keys, so that a policy only has to assign
+// priorities: the key of the lowest priority is the victim. A policy may also refuse to admit a new key over the victim.
+// A loader runs outside the lock, so that concurrent misses on a key may load it more than once; the last one wins.
+public class BoundedCache<K, V> {
+    private final int capacity;
+    private final Policy<K> policy;
+    private final Map<K, V> map = new HashMap<K, V>();
+    private final PriorityHeap<K, Long> heap = new PriorityHeap<K, Long>(4, Ordering.<Long> natural());
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+
+    // decides priorities of keys; not shared across caches.
+    public interface Policy<K> {
+        // called once by the cache that owns the policy.
+        void init(int capacity);
+
+        // records an access to the key, whether it hits or misses.
+        void record(K key);
+
+        long priorityOnInsert(K key);
+
+        long priorityOnHit(K key, long priority);
+
+        // called when the key is evicted to make room, but not when it is invalidated.
+        void onEviction(K key, long priority);
+
+        void onInvalidation(K key, long priority);
+
+        // returns true to evict the victim in favor of the candidate, or false to reject the candidate.
+        boolean admits(K candidate, K victim);
+    }
+
+    @RequiredArgsConstructor
+    @Getter @Accessors(fluent = true)
+    @ToString
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long rejections;
+
+        public double hitRate() {
+            return hits + misses == 0 ? 1.0 : (double)hits / (hits + misses);
+        }
+    }
+
+    public BoundedCache(int capacity, Policy<K> policy) {
+        checkArgument(capacity > 0, "capacity must be positive: %s", capacity);
+        this.capacity = capacity;
+        this.policy = policy;
+        policy.init(capacity);
+    }
+
+    public synchronized V getIfPresent(K key) {
+        policy.record(key);
+        V value = map.get(key);
+        if (null != value) {
+            hits++;
+            heap.offer(key, policy.priorityOnHit(key, heap.priorityOf(key)));
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    // returns the value of the key, loading and caching it on a miss; a null value is returned, but not cached.
+    public V get(K key, Function1<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (null == value) {
+            value = loader.apply(key);
+            if (null != value) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public synchronized BoundedCache<K, V> put(K key, V value) {
+        if (null != map.put(key, value)) {
+            heap.offer(key, policy.priorityOnHit(key, heap.priorityOf(key)));
+            return this;
+        }
+        if (map.size() > capacity) {
+            Pair<K, Long> victim = heap.peek();
+            if (!policy.admits(key, victim.first())) {
+                map.remove(key);
+                rejections++;
+                return this;
+            }
+            heap.poll();
+            map.remove(victim.first());
+            policy.onEviction(victim.first(), victim.second());
+            evictions++;
+        }
+        heap.offer(key, policy.priorityOnInsert(key));
+        return this;
+    }
+
+    public synchronized V invalidate(K key) {
+        V value = map.remove(key);
+        if (null != value) {
+            policy.onInvalidation(key, heap.remove(key));
+        }
+        return value;
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, rejections);
+    }
+
+    // evicts the least recently used.
+    public static <K> Policy<K> lru() {
+        return new Lru<K>();
+    }
+
+    // evicts the least frequently used, where dynamic aging lets formerly popular keys fall behind new ones:
+    // a key's priority is its hit count plus the priority of the last victim when it was last hit (LFU-DA).
+    public static <K> Policy<K> lfu() {
+        return new Policy<K>() {
+            private final Map<K, Long> counts = new HashMap<K, Long>();
+            private long age;
+
+            @Override
+            public void init(int capacity) {
+            }
+
+            @Override
+            public void record(K key) {
+            }
+
+            @Override
+            public long priorityOnInsert(K key) {
+                counts.put(key, 1L);
+                return age + 1;
+            }
+
+            @Override
+            public long priorityOnHit(K key, long priority) {
+                long count = counts.get(key) + 1;
+                counts.put(key, count);
+                return age + count;
+            }
+
+            @Override
+            public void onEviction(K key, long priority) {
+                counts.remove(key);
+                age = Math.max(age, priority);
+            }
+
+            @Override
+            public void onInvalidation(K key, long priority) {
+                counts.remove(key); // ages only on evictions, as an invalidated key may not be the least frequent.
+            }
+
+            @Override
+            public boolean admits(K candidate, K victim) {
+                return true;
+            }
+        };
+    }
+
+    // evicts the least recently used, but admits a new key only if a frequency sketch of recent accesses
+    // estimates it to be more popular than the victim (TinyLFU), which keeps one-hit wonders out.
+    // References: https://arxiv.org/abs/1512.00727
+    public static <K> Policy<K> tinyLfu() {
+        return new Lru<K>() {
+            private FrequencySketch sketch;
+
+            @Override
+            public void init(int capacity) {
+                checkState(null == sketch, "policy already in use");
+                sketch = new FrequencySketch(capacity);
+            }
+
+            @Override
+            public void record(K key) {
+                sketch.increment(Objects.hashCode(key)); // a null key hashes to 0, as under lru and lfu.
+            }
+
+            @Override
+            public boolean admits(K candidate, K victim) {
+                return sketch.frequency(Objects.hashCode(candidate)) > sketch.frequency(Objects.hashCode(victim));
+            }
+        };
+    }
+
+    private static class Lru<K> implements Policy<K> {
+        private long clock;
+
+        @Override
+        public void init(int capacity) {
+        }
+
+        @Override
+        public void record(K key) {
+        }
+
+        @Override
+        public long priorityOnInsert(K key) {
+            return ++clock;
+        }
+
+        @Override
+        public long priorityOnHit(K key, long priority) {
+            return ++clock;
+        }
+
+        @Override
+        public void onEviction(K key, long priority) {
+        }
+
+        @Override
+        public void onInvalidation(K key, long priority) {
+        }
+
+        @Override
+        public boolean admits(K candidate, K victim) {
+            return true;
+        }
+    }
+
+    // A count-min sketch of 4 rows with counters saturating at 15, all halved every 10 * capacity increments,
+    // so that estimates track recent popularity.
+    private static class FrequencySketch {
+        private static final long[] SEEDS = { 0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L };
+        private final byte[][] rows;
+        private final int mask;
+        private final int sampleSize;
+        private int increments;
+
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, capacity) * 2 - 1);
+            rows = new byte[SEEDS.length][width];
+            mask = width - 1;
+            sampleSize = 10 * capacity;
+        }
+
+        void increment(int hash) {
+            for (int i = 0; i < rows.length; i++) {
+                int j = index(hash, i);
+                if (rows[i][j] < 15) {
+                    rows[i][j]++;
+                }
+            }
+            if (++increments == sampleSize) {
+                for (byte[] row : rows) {
+                    for (int j = 0; j < row.length; j++) {
+                        row[j] >>= 1;
+                    }
+                }
+                increments /= 2;
+            }
+        }
+
+        int frequency(int hash) {
+            int frequency = 15;
+            for (int i = 0; i < rows.length; i++) {
+                frequency = Math.min(frequency, rows[i][index(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private int index(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            return (int)(h >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.henry4j.commons.collect;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.common.collect.Ordering;
+
+// A thread-safe PriorityHeap that stripes keys over sub-heaps, each under its own lock, so that offers to
+// different stripes never contend. Every key hashes to one stripe, so offer keeps its upsert semantics exactly.
+//
+// Consistency guarantees:
+// * offer is linearizable per key: concurrent offers of a key apply in lock order, and the last one wins.
+// * poll removes the top of some stripe; that element was no worse than the top of every other stripe at the
+//   moment that stripe was read, i.e. the global min is exact when the heap is quiescent, and relaxed only by
+//   offers racing with the poll. Each element is polled at most once.
+// * peek and size are weakly consistent snapshots; poll may return null while a concurrent offer is in flight.
+public class ConcurrentPriorityHeap<K, V extends Comparable<V>> {
+    private final Stripe<K, V>[] stripes;
+    private final Ordering<V> ordering;
+
+    public ConcurrentPriorityHeap() {
+        this(Ordering.<V> natural());
+    }
+
+    public ConcurrentPriorityHeap(Ordering<V> ordering) {
+        this(4 * Runtime.getRuntime().availableProcessors(), ordering);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public ConcurrentPriorityHeap(int concurrency, Ordering<V> ordering) {
+        checkArgument(concurrency > 0, "concurrency must be positive: %s", concurrency);
+        this.ordering = ordering;
+        this.stripes = new Stripe[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            stripes[i] = new Stripe<K, V>(new PriorityHeap<K, V>(4, ordering));
+        }
+    }
+
+    public ConcurrentPriorityHeap<K, V> offer(K element, V priority) {
+        Stripe<K, V> s = stripes[stripe(element)];
+        s.lock.lock();
+        try {
+            s.heap.offer(element, priority);
+            s.publish();
+        } finally {
+            s.lock.unlock();
+        }
+        return this;
+    }
+
+    public Pair<K, V> peek() {
+        Stripe<K, V> s = best();
+        return null != s ? s.top : null;
+    }
+
+    public Pair<K, V> poll() {
+        for (Stripe<K, V> s; null != (s = best()); ) {
+            Pair<K, V> top = s.top;
+            s.lock.lock();
+            try {
+                if (s.top == top && null != top) { // retries if the top changed since it was compared.
+                    Pair<K, V> poll = s.heap.poll();
+                    s.publish();
+                    return poll;
+                }
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> s : stripes) {
+            size += s.size;
+        }
+        return size;
+    }
+
+    // returns the stripe whose top goes first, reading the published tops without locking.
+    private Stripe<K, V> best() {
+        Stripe<K, V> best = null;
+        Pair<K, V> bestTop = null;
+        for (Stripe<K, V> s : stripes) {
+            Pair<K, V> top = s.top;
+            if (null != top && (null == bestTop || ordering.compare(top.second(), bestTop.second()) < 0)) {
+                best = s;
+                bestTop = top;
+            }
+        }
+        return best;
+    }
+
+    private int stripe(K element) {
+        int h = null == element ? 0 : element.hashCode();
+        h ^= (h >>> 16);
+        return (h & 0x7fffffff) % stripes.length;
+    }
+
+    private static class Stripe<K, V extends Comparable<V>> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final PriorityHeap<K, V> heap;
+        private volatile Pair<K, V> top;
+        private volatile int size;
+
+        Stripe(PriorityHeap<K, V> heap) {
+            this.heap = heap;
+        }
+
+        // republishes the top and size under the lock, after every mutation; an unchanged top keeps its identity.
+        void publish() {
+            Pair<K, V> peek = heap.peek();
+            if (null == peek || !peek.equals(top)) {
+                top = peek;
+            }
+            size = heap.size();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.henry4j.commons.collect;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Ordering;
+
+// A hierarchical timing wheel that expires keys by deadline, where schedule and cancel take O(1) unlike PriorityHeap's
+// O(log n); it suits timeouts that mostly get cancelled before they fire. Deadlines are rounded up to ticks.
+// Level i has 2^bits slots of 2^(bits * i) ticks each; a deadline beyond the top level waits in an overflow heap.
+// Time is driven by the caller through advance(now), so that the scheduler has no clock or thread. Not thread-safe.
+//
+// References:
+// http://www.cs.columbia.edu/~nahum/w6998/papers/sosp87-timing-wheels.pdf
+public class DeadlineScheduler<K> {
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Timer<K>[][] wheels; // the heads of doubly-linked timers by level and slot.
+    private final Map<K, Timer<K>> map = new HashMap<K, Timer<K>>(); // all timers, in wheels or overflowed.
+    private final PriorityHeap<K, Long> overflow = new PriorityHeap<K, Long>(4, Ordering.<Long> natural());
+    private long tick; // the last tick advanced to.
+
+    // 4 levels of 64 slots span 2^24 ticks, e.g. 4.6 hours of 1ms ticks.
+    public DeadlineScheduler(long tickMillis, long nowMillis) {
+        this(tickMillis, nowMillis, 6, 4);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public DeadlineScheduler(long tickMillis, long nowMillis, int bits, int levels) {
+        checkArgument(tickMillis > 0, "tickMillis must be positive: %s", tickMillis);
+        checkArgument(bits > 0 && bits <= 16, "bits out of range (0, 16]: %s", bits); // up to 64K slots per level.
+        checkArgument(levels > 0 && bits * levels < 63, "bits * levels out of range: %s * %s", bits, levels);
+        this.tickMillis = tickMillis;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.wheels = new Timer[levels][1 << bits];
+        this.tick = nowMillis / tickMillis;
+    }
+
+    // schedules the key, or reschedules it if present; a deadline already past expires on the next tick.
+    public DeadlineScheduler<K> schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long t = Math.max(tick + 1, (deadlineMillis + tickMillis - 1) / tickMillis);
+        place(new Timer<K>(key, deadlineMillis, t));
+        return this;
+    }
+
+    // cancels the key, and returns its deadline, or null if absent.
+    public Long cancel(K key) {
+        Timer<K> timer = map.remove(key);
+        if (null == timer) {
+            return null;
+        } else if (timer.level < 0) {
+            overflow.remove(key);
+        } else {
+            unlink(timer);
+        }
+        return timer.deadline;
+    }
+
+    // returns the deadline of the key, or null if absent.
+    public Long deadlineOf(K key) {
+        Timer<K> timer = map.get(key);
+        return null != timer ? timer.deadline : null;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    // advances time, and returns (key, deadline) pairs that expired, in the order of ticks.
+    public ImmutableList<Pair<K, Long>> advance(long nowMillis) {
+        ImmutableList.Builder<Pair<K, Long>> expired = ImmutableList.builder();
+        for (long target = nowMillis / tickMillis; tick < target; ) {
+            if (map.size() == overflow.size()) { // skips idle ticks at once, but not past the first overflowed deadline.
+                long next = overflow.size() > 0 ? overflow.peek().second() : Long.MAX_VALUE;
+                tick = Math.max(tick, Math.min(target, next) - 1);
+            }
+            tick++;
+            for (int level = wheels.length - 1; level > 0; level--) {
+                if ((tick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(level, (int)(tick >>> (bits * level)) & mask);
+                }
+            }
+            while (overflow.size() > 0 && level(overflow.peek().second()) < wheels.length) {
+                place(map.get(overflow.poll().first()));
+            }
+            int slot = (int)tick & mask;
+            for (Timer<K> timer = wheels[0][slot]; null != timer; timer = timer.next) {
+                map.remove(timer.key);
+                expired.add(Pair.of(timer.key, timer.deadline));
+            }
+            wheels[0][slot] = null;
+        }
+        return expired.build();
+    }
+
+    // re-places timers of the slot into lower levels, as the lower levels wrapped around.
+    private void cascade(int level, int slot) {
+        Timer<K> timer = wheels[level][slot];
+        wheels[level][slot] = null;
+        while (null != timer) {
+            Timer<K> next = timer.next;
+            timer.prev = timer.next = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<K> timer) {
+        int level = level(timer.tick);
+        if (level < wheels.length) {
+            int slot = (int)(timer.tick >>> (bits * level)) & mask;
+            timer.level = level;
+            timer.slot = slot;
+            timer.next = wheels[level][slot];
+            if (null != timer.next) {
+                timer.next.prev = timer;
+            }
+            wheels[level][slot] = timer;
+        } else {
+            timer.level = -1;
+            overflow.offer(timer.key, timer.tick);
+        }
+        map.put(timer.key, timer);
+    }
+
+    // returns the lowest level whose span from the current tick holds the tick, i.e. where the ticks share upper bits.
+    private int level(long t) {
+        int level = 0;
+        while (level < wheels.length && (t >>> (bits * (level + 1))) != (tick >>> (bits * (level + 1)))) {
+            level++;
+        }
+        return level;
+    }
+
+    private void unlink(Timer<K> timer) {
+        if (null != timer.prev) {
+            timer.prev.next = timer.next;
+        } else {
+            wheels[timer.level][timer.slot] = timer.next;
+        }
+        if (null != timer.next) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = timer.next = null;
+    }
+
+    private static class Timer<K> {
+        private final K key;
+        private final long deadline;
+        private final long tick;
+        private int level; // -1 when overflowed.
+        private int slot;
+        private Timer<K> prev;
+        private Timer<K> next;
+
+        Timer(K key, long deadline, long tick) {
+            this.key = key;
+            this.deadline = deadline;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.henry4j.commons.collect;
+
+// An open-addressing (linear-probing) map from int keys to int values without boxing, e.g. an id-lookup table:
+// 9 bytes per slot at a load factor of at most 3/4, where HashMap<Integer, Integer> takes about 70 bytes per entry.
+// freeze() returns an immutable copy sized for its entries, which many threads may read once it is safely published;
+// hash(...) builds one. Not thread-safe while mutable. See LongHashSlots for the table.
+public final class IntIntMap extends LongHashSlots {
+    private int[] values;
+
+    public IntIntMap() {
+        this(16);
+    }
+
+    public IntIntMap(int expectedSize) {
+        this(capacityOf(expectedSize), false);
+    }
+
+    private IntIntMap(int capacity, boolean frozen) {
+        super(capacity, frozen, true);
+        values = new int[capacity];
+    }
+
+    public static IntIntMap hash() {
+        return new IntIntMap(0).freeze();
+    }
+
+    public static IntIntMap hash(int k1, int v1) {
+        return new IntIntMap(1)
+                .put(k1, v1)
+                .freeze();
+    }
+
+    public static IntIntMap hash(int k1, int v1, int k2, int v2) {
+        return new IntIntMap(2)
+                .put(k1, v1)
+                .put(k2, v2)
+                .freeze();
+    }
+
+    public static IntIntMap hash(int k1, int v1, int k2, int v2, int k3, int v3) {
+        return new IntIntMap(3)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .freeze();
+    }
+
+    public static IntIntMap hash(int k1, int v1, int k2, int v2, int k3, int v3, int k4, int v4) {
+        return new IntIntMap(4)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .put(k4, v4)
+                .freeze();
+    }
+
+    public static IntIntMap hash(int k1, int v1, int k2, int v2, int k3, int v3, int k4, int v4, int k5, int v5) {
+        return new IntIntMap(5)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .put(k4, v4)
+                .put(k5, v5)
+                .freeze();
+    }
+
+    public static IntIntMap hash(int k1, int v1, int k2, int v2, int k3, int v3, int k4, int v4, int k5, int v5, int k6, int v6) {
+        return new IntIntMap(6)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .put(k4, v4)
+                .put(k5, v5)
+                .put(k6, v6)
+                .freeze();
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    public int get(int key, int defaultValue) {
+        int i = find(key);
+        return i < 0 ? defaultValue : values[i];
+    }
+
+    public IntIntMap put(int key, int value) {
+        values[claim(key)] = value;
+        grow();
+        return this;
+    }
+
+    // returns true if the key was present.
+    public boolean remove(int key) {
+        return removeKey(key);
+    }
+
+    // returns an immutable copy at a load factor of at most 3/4, or this if frozen already.
+    public IntIntMap freeze() {
+        if (frozen) {
+            return this;
+        }
+        IntIntMap copy = new IntIntMap(frozenCapacityOf(size), true);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // A flyweight that moves over the entries in no particular order: while (cursor.next()) { cursor.key() ... }
+    public class Cursor {
+        private int slot = -1;
+
+        public boolean next() {
+            int next = nextSlot(slot);
+            slot = next < 0 ? used.length : next;
+            return next >= 0;
+        }
+
+        public int key() {
+            return (int)keyAt(checkSlot(slot));
+        }
+
+        public int value() {
+            return values[checkSlot(slot)];
+        }
+    }
+
+    @Override
+    Object values() {
+        return values;
+    }
+
+    @Override
+    void allocate(int capacity) {
+        values = new int[capacity];
+    }
+}
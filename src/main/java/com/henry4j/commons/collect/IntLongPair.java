@@ -0,0 +1,55 @@
+package com.henry4j.commons.collect;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+// A primitive counterpart of Pair<Integer, Long>; see IntPair.
+@Getter @Accessors(fluent = true)
+public final class IntLongPair implements Comparable<IntLongPair> {
+    private final int first;
+    private final long second;
+    @Getter(AccessLevel.NONE)
+    private final int hash;
+
+    private IntLongPair(int first, long second) {
+        this.first = first;
+        this.second = second;
+        this.hash = 31 * first + (int)(second ^ (second >>> 32));
+    }
+
+    public static IntLongPair of(int first, long second) {
+        return new IntLongPair(first, second);
+    }
+
+    public Pair<Integer, Long> boxed() {
+        return Pair.of((Integer)first, (Long)second);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof IntLongPair)) {
+            return false;
+        }
+        IntLongPair other = (IntLongPair)o;
+        return hash == other.hash && first == other.first && second == other.second;
+    }
+
+    @Override
+    public int compareTo(IntLongPair other) {
+        int c = Integer.compare(first, other.first);
+        return c != 0 ? c : Long.compare(second, other.second);
+    }
+
+    @Override
+    public String toString() {
+        return "IntLongPair(first=" + first + ", second=" + second + ")";
+    }
+}
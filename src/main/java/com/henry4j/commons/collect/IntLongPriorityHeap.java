@@ -0,0 +1,122 @@
+package com.henry4j.commons.collect;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// A primitive counterpart of PriorityHeap<Integer, Long> that keeps keys and priorities in parallel arrays,
+// and heap positions in an open-addressing index; offer, peek, and poll allocate nothing but when growing.
+public class IntLongPriorityHeap {
+    private int[] keys;
+    private long[] priorities;
+    private int size;
+    private final IntIntMap index;
+    private final boolean reverse;
+
+    public IntLongPriorityHeap() {
+        this(16, false);
+    }
+
+    // reverse puts the highest priority on top, as PriorityHeap does with Ordering.natural().reverse().
+    public IntLongPriorityHeap(int initialCapacity, boolean reverse) {
+        keys = new int[Math.max(1, initialCapacity)];
+        priorities = new long[keys.length];
+        index = new IntIntMap(keys.length);
+        this.reverse = reverse;
+    }
+
+    // inserts the key, or updates its priority if present.
+    public IntLongPriorityHeap offer(int key, long priority) {
+        int n = index.get(key, -1);
+        if (n >= 0) {
+            if (n == siftUp(n, key, priority)) {
+                siftDown(n, key, priority);
+            }
+        } else {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                priorities = Arrays.copyOf(priorities, size * 2);
+            }
+            siftUp(size++, key, priority);
+        }
+        return this;
+    }
+
+    public int peekKey() {
+        checkNotEmpty();
+        return keys[0];
+    }
+
+    public long peekPriority() {
+        checkNotEmpty();
+        return priorities[0];
+    }
+
+    // removes the top, and returns its key.
+    public int poll() {
+        checkNotEmpty();
+        int top = keys[0];
+        index.remove(top);
+        if (--size > 0) {
+            siftDown(0, keys[size], priorities[size]);
+        }
+        return top;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // moves the hole at n up until the priority fits, and returns where the key lands.
+    private int siftUp(int n, int key, long priority) {
+        while (n > 0) {
+            int p = (n - 1) >>> 1;
+            if (!precedes(priority, priorities[p])) {
+                break;
+            }
+            move(p, n);
+            n = p;
+        }
+        place(n, key, priority);
+        return n;
+    }
+
+    private int siftDown(int n, int key, long priority) {
+        for (int c; (c = 2*n + 1) < size; n = c) {
+            if (c + 1 < size && precedes(priorities[c + 1], priorities[c])) {
+                c++;
+            }
+            if (!precedes(priorities[c], priority)) {
+                break;
+            }
+            move(c, n);
+        }
+        place(n, key, priority);
+        return n;
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        priorities[to] = priorities[from];
+        index.put(keys[to], to);
+    }
+
+    private void place(int n, int key, long priority) {
+        keys[n] = key;
+        priorities[n] = priority;
+        index.put(key, n);
+    }
+
+    private boolean precedes(long a, long b) {
+        return reverse ? a > b : a < b;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.henry4j.commons.collect;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+// A primitive pair that precomputes its hash code, and compares without boxing, for keys of hash maps in hot joins;
+// unlike Pair<Integer, Integer>, it holds no boxed components.
+@Getter @Accessors(fluent = true)
+public final class IntPair implements Comparable<IntPair> {
+    private final int first;
+    private final int second;
+    @Getter(AccessLevel.NONE)
+    private final int hash;
+
+    private IntPair(int first, int second) {
+        this.first = first;
+        this.second = second;
+        this.hash = 31 * first + second;
+    }
+
+    public static IntPair of(int first, int second) {
+        return new IntPair(first, second);
+    }
+
+    public Pair<Integer, Integer> boxed() {
+        return Pair.of((Integer)first, (Integer)second);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof IntPair)) {
+            return false;
+        }
+        IntPair other = (IntPair)o;
+        return hash == other.hash && first == other.first && second == other.second;
+    }
+
+    @Override
+    public int compareTo(IntPair other) {
+        int c = Integer.compare(first, other.first);
+        return c != 0 ? c : Integer.compare(second, other.second);
+    }
+
+    @Override
+    public String toString() {
+        return "IntPair(first=" + first + ", second=" + second + ")";
+    }
+}
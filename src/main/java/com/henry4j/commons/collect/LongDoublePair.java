@@ -0,0 +1,56 @@
+package com.henry4j.commons.collect;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+// A primitive counterpart of Pair<Long, Double>; see IntPair.
+@Getter @Accessors(fluent = true)
+public final class LongDoublePair implements Comparable<LongDoublePair> {
+    private final long first;
+    private final double second;
+    @Getter(AccessLevel.NONE)
+    private final int hash;
+
+    private LongDoublePair(long first, double second) {
+        this.first = first;
+        this.second = second;
+        long bits = Double.doubleToLongBits(second);
+        this.hash = 31 * (int)(first ^ (first >>> 32)) + (int)(bits ^ (bits >>> 32));
+    }
+
+    public static LongDoublePair of(long first, double second) {
+        return new LongDoublePair(first, second);
+    }
+
+    public Pair<Long, Double> boxed() {
+        return Pair.of((Long)first, (Double)second);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof LongDoublePair)) {
+            return false;
+        }
+        LongDoublePair other = (LongDoublePair)o;
+        return hash == other.hash && first == other.first && Double.doubleToLongBits(second) == Double.doubleToLongBits(other.second);
+    }
+
+    @Override
+    public int compareTo(LongDoublePair other) {
+        int c = Long.compare(first, other.first);
+        return c != 0 ? c : Double.compare(second, other.second);
+    }
+
+    @Override
+    public String toString() {
+        return "LongDoublePair(first=" + first + ", second=" + second + ")";
+    }
+}
@@ -0,0 +1,122 @@
+package com.henry4j.commons.collect;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import com.google.common.collect.AbstractIterator;
+
+// A primitive counterpart of PairList<Long, Double> that keeps components in a long[] and a double[] without boxing.
+public class LongDoublePairList implements Iterable<Pair<Long, Double>> {
+    private long[] firsts;
+    private double[] seconds;
+    private int size;
+
+    public LongDoublePairList() {
+        this(16);
+    }
+
+    public LongDoublePairList(int initialCapacity) {
+        firsts = new long[Math.max(1, initialCapacity)];
+        seconds = new double[firsts.length];
+    }
+
+    public static LongDoublePairList from(Iterable<? extends Pair<Long, Double>> pairs) {
+        return new LongDoublePairList().addAll(pairs);
+    }
+
+    public LongDoublePairList add(long first, double second) {
+        if (size == firsts.length) {
+            firsts = Arrays.copyOf(firsts, size * 2);
+            seconds = Arrays.copyOf(seconds, size * 2);
+        }
+        firsts[size] = first;
+        seconds[size++] = second;
+        return this;
+    }
+
+    public LongDoublePairList addAll(Iterable<? extends Pair<Long, Double>> pairs) {
+        for (Pair<Long, Double> p : pairs) {
+            add(p.first(), p.second());
+        }
+        return this;
+    }
+
+    public long first(int index) {
+        checkIndex(index);
+        return firsts[index];
+    }
+
+    public double second(int index) {
+        checkIndex(index);
+        return seconds[index];
+    }
+
+    public LongDoublePairList set(int index, long first, double second) {
+        checkIndex(index);
+        firsts[index] = first;
+        seconds[index] = second;
+        return this;
+    }
+
+    public Pair<Long, Double> get(int index) {
+        return Pair.of(first(index), second(index));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // returns copies of the columns trimmed to size.
+    public long[] firsts() {
+        return Arrays.copyOf(firsts, size);
+    }
+
+    public double[] seconds() {
+        return Arrays.copyOf(seconds, size);
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public Iterator<Pair<Long, Double>> iterator() {
+        return new AbstractIterator<Pair<Long, Double>>() {
+            private final Cursor cursor = cursor();
+
+            @Override
+            protected Pair<Long, Double> computeNext() {
+                return cursor.next() ? Pair.of(cursor.first(), cursor.second()) : endOfData();
+            }
+        };
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index + " out of " + size);
+        }
+    }
+
+    // A flyweight that moves over the pairs in order: while (cursor.next()) { cursor.first() ... }
+    public class Cursor {
+        private int index = -1;
+
+        public boolean next() {
+            return index < size && ++index < size;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public long first() {
+            checkIndex(index);
+            return firsts[index];
+        }
+
+        public double second() {
+            checkIndex(index);
+            return seconds[index];
+        }
+    }
+}
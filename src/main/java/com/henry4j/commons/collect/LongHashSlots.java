@@ -0,0 +1,224 @@
+package com.henry4j.commons.collect;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+// The open-addressing (linear-probing) table of long keys behind LongIntMap, IntIntMap, and LongObjectMap, which
+// only keep a parallel array of values; slots move values by System.arraycopy, so that one table serves all of them.
+// A narrow table keeps int keys in an int array, so that IntIntMap takes 9 rather than 13 bytes per slot.
+// It deletes by backward shifting instead of tombstones, and rehashes at a load factor of 3/4.
+abstract class LongHashSlots {
+    private final boolean narrow;
+    private long[] keys; // null if narrow.
+    private int[] narrowKeys; // null unless narrow.
+    boolean[] used;
+    int mask;
+    int size;
+    final boolean frozen;
+
+    LongHashSlots(int capacity, boolean frozen, boolean narrow) {
+        this.narrow = narrow;
+        allocateKeys(capacity);
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        this.frozen = frozen;
+    }
+
+    // returns the array of values parallel to keys.
+    abstract Object values();
+
+    // replaces values with a new array of the capacity.
+    abstract void allocate(int capacity);
+
+    // clears the value at a slot, e.g. to let go of an object.
+    void release(int slot) {
+    }
+
+    static int capacityOf(int expectedSize) {
+        return Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+    }
+
+    // returns a capacity at a load factor of at most 3/4 for a frozen copy.
+    static int frozenCapacityOf(int size) {
+        return Integer.highestOneBit(Math.max(2, size + size / 3 + 1) * 2 - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    // returns true if the key was present.
+    boolean removeKey(long key) {
+        checkMutable();
+        int i = find(key);
+        if (i < 0) {
+            return false;
+        }
+        shiftBack(i);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        checkMutable();
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                sb.append(sb.length() > 1 ? ", " : "").append(keyAt(i)).append('=').append(Array.get(values(), i));
+            }
+        }
+        return sb.append('}').toString();
+    }
+
+    final long keyAt(int slot) {
+        return narrow ? narrowKeys[slot] : keys[slot];
+    }
+
+    // returns the slot of the key, or -1 if absent; it probes each key array in its own loop, as lookups are hot.
+    final int find(long key) {
+        if (narrow) {
+            for (int i = slot(key); used[i]; i = (i + 1) & mask) {
+                if (narrowKeys[i] == key) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = slot(key); used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // returns the slot of the key, taking a free one if absent; the caller stores the value, and then calls grow.
+    final int claim(long key) {
+        checkMutable();
+        int i = slot(key);
+        for (; used[i]; i = (i + 1) & mask) {
+            if (keyAt(i) == key) {
+                return i;
+            }
+        }
+        setKey(i, key);
+        used[i] = true;
+        size++;
+        return i;
+    }
+
+    final void grow() {
+        if (size > (mask + 1) / 4 * 3) {
+            rehash((mask + 1) * 2);
+        }
+    }
+
+    // copies the entries into this, which is known to have room for them.
+    final void copyFrom(LongHashSlots from) {
+        transfer(from.narrow ? from.narrowKeys : from.keys, from.used, from.values());
+    }
+
+    // returns the next used slot after the slot, or -1 if none.
+    final int nextSlot(int slot) {
+        while (++slot < used.length) {
+            if (used[slot]) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // checks that a cursor is on an entry, i.e. next() returned true.
+    final int checkSlot(int slot) {
+        if (slot < 0 || slot >= used.length || !used[slot]) {
+            throw new IndexOutOfBoundsException("no entry at slot " + slot);
+        }
+        return slot;
+    }
+
+    final void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("frozen");
+        }
+    }
+
+    // closes the gap at i by moving back entries whose probe sequences pass through it.
+    private void shiftBack(int i) {
+        Object values = values();
+        for (int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+            int k = slot(keyAt(j));
+            if (i <= j ? (k <= i || k > j) : (k <= i && k > j)) {
+                setKey(i, keyAt(j));
+                System.arraycopy(values, j, values, i, 1);
+                i = j;
+            }
+        }
+        used[i] = false;
+        release(i);
+    }
+
+    private void rehash(int capacity) {
+        Object oldKeys = narrow ? narrowKeys : keys;
+        boolean[] oldUsed = used;
+        Object oldValues = values();
+        allocateKeys(capacity);
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+        allocate(capacity);
+        transfer(oldKeys, oldUsed, oldValues);
+    }
+
+    // inserts keys known to be absent, where there is room.
+    private void transfer(Object fromKeys, boolean[] fromUsed, Object fromValues) {
+        Object values = values();
+        for (int i = 0; i < fromUsed.length; i++) {
+            if (fromUsed[i]) {
+                long key = narrow ? ((int[])fromKeys)[i] : ((long[])fromKeys)[i];
+                int j = slot(key);
+                while (used[j]) {
+                    j = (j + 1) & mask;
+                }
+                setKey(j, key);
+                used[j] = true;
+                System.arraycopy(fromValues, i, values, j, 1);
+                size++;
+            }
+        }
+    }
+
+    private void allocateKeys(int capacity) {
+        if (narrow) {
+            narrowKeys = new int[capacity];
+        } else {
+            keys = new long[capacity];
+        }
+    }
+
+    private void setKey(int slot, long key) {
+        if (narrow) {
+            narrowKeys[slot] = (int)key;
+        } else {
+            keys[slot] = key;
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads sequential ids.
+        return (int)(h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,140 @@
+package com.henry4j.commons.collect;
+
+// An open-addressing (linear-probing) map from long keys to int values without boxing, e.g. an id-lookup table:
+// 13 bytes per slot at a load factor of at most 3/4, where HashMap<Long, Integer> takes about 80 bytes per entry.
+// freeze() returns an immutable copy sized for its entries, which many threads may read once it is safely published;
+// hash(...) builds one. Not thread-safe while mutable. See LongHashSlots for the table.
+public final class LongIntMap extends LongHashSlots {
+    private int[] values;
+
+    public LongIntMap() {
+        this(16);
+    }
+
+    public LongIntMap(int expectedSize) {
+        this(capacityOf(expectedSize), false);
+    }
+
+    private LongIntMap(int capacity, boolean frozen) {
+        super(capacity, frozen, false);
+        values = new int[capacity];
+    }
+
+    public static LongIntMap hash() {
+        return new LongIntMap(0).freeze();
+    }
+
+    public static LongIntMap hash(long k1, int v1) {
+        return new LongIntMap(1)
+                .put(k1, v1)
+                .freeze();
+    }
+
+    public static LongIntMap hash(long k1, int v1, long k2, int v2) {
+        return new LongIntMap(2)
+                .put(k1, v1)
+                .put(k2, v2)
+                .freeze();
+    }
+
+    public static LongIntMap hash(long k1, int v1, long k2, int v2, long k3, int v3) {
+        return new LongIntMap(3)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .freeze();
+    }
+
+    public static LongIntMap hash(long k1, int v1, long k2, int v2, long k3, int v3, long k4, int v4) {
+        return new LongIntMap(4)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .put(k4, v4)
+                .freeze();
+    }
+
+    public static LongIntMap hash(long k1, int v1, long k2, int v2, long k3, int v3, long k4, int v4, long k5, int v5) {
+        return new LongIntMap(5)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .put(k4, v4)
+                .put(k5, v5)
+                .freeze();
+    }
+
+    public static LongIntMap hash(long k1, int v1, long k2, int v2, long k3, int v3, long k4, int v4, long k5, int v5, long k6, int v6) {
+        return new LongIntMap(6)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .put(k4, v4)
+                .put(k5, v5)
+                .put(k6, v6)
+                .freeze();
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    public int get(long key, int defaultValue) {
+        int i = find(key);
+        return i < 0 ? defaultValue : values[i];
+    }
+
+    public LongIntMap put(long key, int value) {
+        values[claim(key)] = value;
+        grow();
+        return this;
+    }
+
+    // returns true if the key was present.
+    public boolean remove(long key) {
+        return removeKey(key);
+    }
+
+    // returns an immutable copy at a load factor of at most 3/4, or this if frozen already.
+    public LongIntMap freeze() {
+        if (frozen) {
+            return this;
+        }
+        LongIntMap copy = new LongIntMap(frozenCapacityOf(size), true);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // A flyweight that moves over the entries in no particular order: while (cursor.next()) { cursor.key() ... }
+    public class Cursor {
+        private int slot = -1;
+
+        public boolean next() {
+            int next = nextSlot(slot);
+            slot = next < 0 ? used.length : next;
+            return next >= 0;
+        }
+
+        public long key() {
+            return keyAt(checkSlot(slot));
+        }
+
+        public int value() {
+            return values[checkSlot(slot)];
+        }
+    }
+
+    @Override
+    Object values() {
+        return values;
+    }
+
+    @Override
+    void allocate(int capacity) {
+        values = new int[capacity];
+    }
+}
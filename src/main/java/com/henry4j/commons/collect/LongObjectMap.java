@@ -0,0 +1,156 @@
+package com.henry4j.commons.collect;
+
+import java.util.Arrays;
+
+// An open-addressing (linear-probing) map from long keys to objects without boxing keys: 13 bytes per slot, with
+// compressed references, at a load factor of at most 3/4, where HashMap<Long, V> takes about 56 bytes per entry.
+// freeze() returns an immutable copy sized for its entries, which many threads may read once it is safely published;
+// hash(...) builds one. Not thread-safe while mutable. See LongHashSlots for the table.
+public final class LongObjectMap<V> extends LongHashSlots {
+    private Object[] values;
+
+    public LongObjectMap() {
+        this(16);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        this(capacityOf(expectedSize), false);
+    }
+
+    private LongObjectMap(int capacity, boolean frozen) {
+        super(capacity, frozen, false);
+        values = new Object[capacity];
+    }
+
+    public static <V> LongObjectMap<V> hash() {
+        return new LongObjectMap<V>(0).freeze();
+    }
+
+    public static <V> LongObjectMap<V> hash(long k1, V v1) {
+        return new LongObjectMap<V>(1)
+                .put(k1, v1)
+                .freeze();
+    }
+
+    public static <V> LongObjectMap<V> hash(long k1, V v1, long k2, V v2) {
+        return new LongObjectMap<V>(2)
+                .put(k1, v1)
+                .put(k2, v2)
+                .freeze();
+    }
+
+    public static <V> LongObjectMap<V> hash(long k1, V v1, long k2, V v2, long k3, V v3) {
+        return new LongObjectMap<V>(3)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .freeze();
+    }
+
+    public static <V> LongObjectMap<V> hash(long k1, V v1, long k2, V v2, long k3, V v3, long k4, V v4) {
+        return new LongObjectMap<V>(4)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .put(k4, v4)
+                .freeze();
+    }
+
+    public static <V> LongObjectMap<V> hash(long k1, V v1, long k2, V v2, long k3, V v3, long k4, V v4, long k5, V v5) {
+        return new LongObjectMap<V>(5)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .put(k4, v4)
+                .put(k5, v5)
+                .freeze();
+    }
+
+    public static <V> LongObjectMap<V> hash(long k1, V v1, long k2, V v2, long k3, V v3, long k4, V v4, long k5, V v5, long k6, V v6) {
+        return new LongObjectMap<V>(6)
+                .put(k1, v1)
+                .put(k2, v2)
+                .put(k3, v3)
+                .put(k4, v4)
+                .put(k5, v5)
+                .put(k6, v6)
+                .freeze();
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    // returns the value of the key, or null if absent.
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int i = find(key);
+        return i < 0 ? null : (V)values[i];
+    }
+
+    public LongObjectMap<V> put(long key, V value) {
+        values[claim(key)] = value;
+        grow();
+        return this;
+    }
+
+    // returns true if the key was present.
+    public boolean remove(long key) {
+        return removeKey(key);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        Arrays.fill(values, null);
+    }
+
+    // returns an immutable copy at a load factor of at most 3/4, or this if frozen already.
+    public LongObjectMap<V> freeze() {
+        if (frozen) {
+            return this;
+        }
+        LongObjectMap<V> copy = new LongObjectMap<V>(frozenCapacityOf(size), true);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // A flyweight that moves over the entries in no particular order: while (cursor.next()) { cursor.key() ... }
+    public class Cursor {
+        private int slot = -1;
+
+        public boolean next() {
+            int next = nextSlot(slot);
+            slot = next < 0 ? used.length : next;
+            return next >= 0;
+        }
+
+        public long key() {
+            return keyAt(checkSlot(slot));
+        }
+
+        @SuppressWarnings("unchecked")
+        public V value() {
+            return (V)values[checkSlot(slot)];
+        }
+    }
+
+    @Override
+    Object values() {
+        return values;
+    }
+
+    @Override
+    void allocate(int capacity) {
+        values = new Object[capacity];
+    }
+
+    @Override
+    void release(int slot) {
+        values[slot] = null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.henry4j.commons.collect;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+// A primitive counterpart of Pair<Long, Long>; see IntPair.
+@Getter @Accessors(fluent = true)
+public final class LongPair implements Comparable<LongPair> {
+    private final long first;
+    private final long second;
+    @Getter(AccessLevel.NONE)
+    private final int hash;
+
+    private LongPair(long first, long second) {
+        this.first = first;
+        this.second = second;
+        this.hash = 31 * (int)(first ^ (first >>> 32)) + (int)(second ^ (second >>> 32));
+    }
+
+    public static LongPair of(long first, long second) {
+        return new LongPair(first, second);
+    }
+
+    public Pair<Long, Long> boxed() {
+        return Pair.of((Long)first, (Long)second);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof LongPair)) {
+            return false;
+        }
+        LongPair other = (LongPair)o;
+        return hash == other.hash && first == other.first && second == other.second;
+    }
+
+    @Override
+    public int compareTo(LongPair other) {
+        int c = Long.compare(first, other.first);
+        return c != 0 ? c : Long.compare(second, other.second);
+    }
+
+    @Override
+    public String toString() {
+        return "LongPair(first=" + first + ", second=" + second + ")";
+    }
+}
@@ -0,0 +1,229 @@
+package com.henry4j.commons.collect;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.NoSuchElementException;
+
+import lombok.SneakyThrows;
+
+import com.google.common.io.Closeables;
+
+// An off-heap counterpart of LongDoublePriorityHeap for hundreds of millions of entries, e.g. a crawler frontier.
+// The 4-ary heap keeps 16-byte (key, priority) records, and an open-addressing index keeps 16-byte (key, position)
+// slots, both in direct or memory-mapped ByteBuffer segments, so that the garbage collector never sees an entry.
+// The capacity is fixed up front; the index takes 2 to 4 slots, i.e. 32 to 64 bytes, per entry of capacity, and the
+// heap 16 bytes per entry.
+// Mapped files serve as spill space beyond RAM, not as durable storage: a new instance starts empty. Not thread-safe.
+public class OffHeapLongDoublePriorityHeap implements Closeable {
+    private static final int ARITY = 4;
+    private static final int RECORD = 16;
+    private final Segments heap;
+    private final Segments index;
+    private final long capacity;
+    private final long mask;
+    private final boolean reverse;
+    private final RandomAccessFile[] files;
+    private long size;
+
+    // keeps records in direct buffers.
+    public OffHeapLongDoublePriorityHeap(long capacity, boolean reverse) {
+        this(capacity, reverse, null);
+    }
+
+    // keeps records in heap.dat and index.dat mapped under the directory (nullable), overwriting them.
+    @SneakyThrows({ IOException.class })
+    public OffHeapLongDoublePriorityHeap(long capacity, boolean reverse, File directory) {
+        checkArgument(capacity > 0, "capacity must be positive: %s", capacity);
+        long slots = Long.highestOneBit(capacity * 2 - 1) << 1; // 2 to 4 times capacity, for a load factor of 1/4 to 1/2.
+        this.capacity = capacity;
+        this.mask = slots - 1;
+        this.reverse = reverse;
+        if (null != directory) {
+            RandomAccessFile[] opened = new RandomAccessFile[2];
+            try {
+                opened[0] = new RandomAccessFile(new File(directory, "heap.dat"), "rw");
+                opened[0].setLength(0);
+                opened[1] = new RandomAccessFile(new File(directory, "index.dat"), "rw");
+                opened[1].setLength(0);
+                heap = new Segments(capacity * RECORD, opened[0].getChannel());
+                index = new Segments(slots * RECORD, opened[1].getChannel());
+            } catch (IOException | RuntimeException | Error e) { // closes files opened so far, lest they leak.
+                for (RandomAccessFile f : opened) {
+                    if (null != f) {
+                        Closeables.close(f, true);
+                    }
+                }
+                throw e;
+            }
+            files = opened;
+        } else {
+            files = new RandomAccessFile[0];
+            heap = new Segments(capacity * RECORD, (FileChannel)null);
+            index = new Segments(slots * RECORD, (FileChannel)null);
+        }
+    }
+
+    // inserts the key, or updates its priority if present.
+    public OffHeapLongDoublePriorityHeap offer(long key, double priority) {
+        long n = positionOf(key);
+        if (n >= 0) {
+            if (n == siftUp(n, key, priority)) {
+                siftDown(n, key, priority);
+            }
+        } else {
+            checkState(size < capacity, "full at capacity %s", capacity);
+            siftUp(size++, key, priority);
+        }
+        return this;
+    }
+
+    public long peekKey() {
+        checkNotEmpty();
+        return key(0);
+    }
+
+    public double peekPriority() {
+        checkNotEmpty();
+        return priority(0);
+    }
+
+    // removes the top, and returns its key.
+    public long poll() {
+        checkNotEmpty();
+        long top = key(0);
+        unindex(top);
+        if (--size > 0) {
+            siftDown(0, key(size), priority(size));
+        }
+        return top;
+    }
+
+    public boolean contains(long key) {
+        return positionOf(key) >= 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // closes mapped files; the buffers themselves, direct or mapped, are freed when garbage-collected, as Java 7
+    // has no public API to unmap or free them early.
+    @Override
+    public void close() throws IOException {
+        for (RandomAccessFile f : files) {
+            f.close();
+        }
+    }
+
+    private long siftUp(long n, long key, double priority) {
+        while (n > 0) {
+            long p = (n - 1) / ARITY;
+            if (!precedes(priority, priority(p))) {
+                break;
+            }
+            move(p, n);
+            n = p;
+        }
+        place(n, key, priority);
+        return n;
+    }
+
+    private long siftDown(long n, long key, double priority) {
+        for (long first; (first = ARITY * n + 1) < size; ) {
+            long c = first;
+            for (long i = first + 1, last = Math.min(first + ARITY, size); i < last; i++) {
+                if (precedes(priority(i), priority(c))) {
+                    c = i;
+                }
+            }
+            if (!precedes(priority(c), priority)) {
+                break;
+            }
+            move(c, n);
+            n = c;
+        }
+        place(n, key, priority);
+        return n;
+    }
+
+    private void move(long from, long to) {
+        place(to, key(from), priority(from));
+    }
+
+    private void place(long n, long key, double priority) {
+        heap.putLong(n * RECORD, key);
+        heap.putDouble(n * RECORD + 8, priority);
+        index(key, n);
+    }
+
+    private long key(long n) {
+        return heap.getLong(n * RECORD);
+    }
+
+    private double priority(long n) {
+        return heap.getDouble(n * RECORD + 8);
+    }
+
+    private boolean precedes(double a, double b) {
+        return reverse ? Double.compare(a, b) > 0 : Double.compare(a, b) < 0;
+    }
+
+    // index slots keep the position plus one, so that zero-filled slots read as empty.
+    private long positionOf(long key) {
+        for (long i = slot(key); ; i = (i + 1) & mask) {
+            long position = index.getLong(i * RECORD + 8);
+            if (position == 0) {
+                return -1;
+            } else if (index.getLong(i * RECORD) == key) {
+                return position - 1;
+            }
+        }
+    }
+
+    private void index(long key, long position) {
+        long i = slot(key);
+        while (index.getLong(i * RECORD + 8) != 0 && index.getLong(i * RECORD) != key) {
+            i = (i + 1) & mask;
+        }
+        index.putLong(i * RECORD, key);
+        index.putLong(i * RECORD + 8, position + 1);
+    }
+
+    // removes the key, and closes the gap by moving back slots whose probe sequences pass through it.
+    private void unindex(long key) {
+        long i = slot(key);
+        while (index.getLong(i * RECORD + 8) == 0 || index.getLong(i * RECORD) != key) { // skips stale keys of empty slots.
+            i = (i + 1) & mask;
+        }
+        for (long j = (i + 1) & mask; index.getLong(j * RECORD + 8) != 0; j = (j + 1) & mask) {
+            long k = slot(index.getLong(j * RECORD));
+            if (i <= j ? (k <= i || k > j) : (k <= i && k > j)) {
+                index.putLong(i * RECORD, index.getLong(j * RECORD));
+                index.putLong(i * RECORD + 8, index.getLong(j * RECORD + 8));
+                i = j;
+            }
+        }
+        index.putLong(i * RECORD + 8, 0);
+    }
+
+    private long slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (h ^ (h >>> 32)) & mask;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+    }
+}
@@ -2,15 +2,44 @@ package com.henry4j.commons.collect;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.Accessors;
 
-@RequiredArgsConstructor(staticName = "of")
 @Getter @Accessors(fluent = true)
 @ToString
 @EqualsAndHashCode
 public class Pair<U, V> {
     private final U first;
     private final V second;
+
+    protected Pair(U first, V second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    public static <U, V> Pair<U, V> of(U first, V second) {
+        return new Pair<U, V>(first, second);
+    }
+
+    // returns a pair that computes its hash code once, for immutable components used as keys of hash maps.
+    public static <U, V> Pair<U, V> cached(U first, V second) {
+        return new Cached<U, V>(first, second);
+    }
+
+    private static class Cached<U, V> extends Pair<U, V> {
+        private int hash; // 0 until computed, as String does.
+
+        Cached(U first, V second) {
+            super(first, second);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = hash;
+            if (h == 0) {
+                hash = h = super.hashCode();
+            }
+            return h;
+        }
+    }
 }
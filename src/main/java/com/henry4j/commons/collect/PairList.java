@@ -0,0 +1,118 @@
+package com.henry4j.commons.collect;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import com.google.common.collect.AbstractIterator;
+
+// A list of pairs stored column-wise in parallel arrays, so that a million pairs cost two arrays rather than
+// a million Pair objects. Iterate with a cursor to read pairs without allocating; iterating as Pairs converts them.
+public class PairList<U, V> implements Iterable<Pair<U, V>> {
+    private Object[] firsts;
+    private Object[] seconds;
+    private int size;
+
+    public PairList() {
+        this(16);
+    }
+
+    public PairList(int initialCapacity) {
+        firsts = new Object[Math.max(1, initialCapacity)];
+        seconds = new Object[firsts.length];
+    }
+
+    public static <U, V> PairList<U, V> from(Iterable<? extends Pair<U, V>> pairs) {
+        return new PairList<U, V>().addAll(pairs);
+    }
+
+    public PairList<U, V> add(U first, V second) {
+        if (size == firsts.length) {
+            firsts = Arrays.copyOf(firsts, size * 2);
+            seconds = Arrays.copyOf(seconds, size * 2);
+        }
+        firsts[size] = first;
+        seconds[size++] = second;
+        return this;
+    }
+
+    public PairList<U, V> addAll(Iterable<? extends Pair<U, V>> pairs) {
+        for (Pair<U, V> p : pairs) {
+            add(p.first(), p.second());
+        }
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public U first(int index) {
+        checkIndex(index);
+        return (U)firsts[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V second(int index) {
+        checkIndex(index);
+        return (V)seconds[index];
+    }
+
+    public PairList<U, V> set(int index, U first, V second) {
+        checkIndex(index);
+        firsts[index] = first;
+        seconds[index] = second;
+        return this;
+    }
+
+    public Pair<U, V> get(int index) {
+        return Pair.of(first(index), second(index));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public Iterator<Pair<U, V>> iterator() {
+        return new AbstractIterator<Pair<U, V>>() {
+            private final Cursor cursor = cursor();
+
+            @Override
+            protected Pair<U, V> computeNext() {
+                return cursor.next() ? Pair.of(cursor.first(), cursor.second()) : endOfData();
+            }
+        };
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index + " out of " + size);
+        }
+    }
+
+    // A flyweight that moves over the pairs in order: while (cursor.next()) { cursor.first() ... }
+    public class Cursor {
+        private int index = -1;
+
+        public boolean next() {
+            return index < size && ++index < size;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        @SuppressWarnings("unchecked")
+        public U first() {
+            checkIndex(index);
+            return (U)firsts[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        public V second() {
+            checkIndex(index);
+            return (V)seconds[index];
+        }
+    }
+}
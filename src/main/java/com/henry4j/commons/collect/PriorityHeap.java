@@ -1,59 +1,161 @@
 package com.henry4j.commons.collect;
 
-import static com.google.common.collect.Ordering.natural;
+import static com.google.common.base.Preconditions.checkArgument;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
-import lombok.val;
-
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Ordering;
+import com.henry4j.commons.base.Actions.Action1;
 
 // References:
 // http://commons.apache.org/collections/apidocs/org/apache/commons/collections/buffer/PriorityBuffer.html
 // http://docs.oracle.com/javase/7/docs/api/java/util/PriorityQueue.html
-public class PriorityHeap<K, V extends Comparable<V>> {
-    private final List<Pair<K, V>> list = new ArrayList<Pair<K, V>>();
+// https://en.wikipedia.org/wiki/D-ary_heap
+public class PriorityHeap<K, V extends Comparable<V>> implements Iterable<Pair<K, V>> {
+    private Object[] keys = new Object[16];
+    private Object[] priorities = new Object[16]; // parallel to keys, so that sifting compares without a Pair indirection.
+    private int size;
+    private int modCount;
+    private boolean shared; // true when a snapshot shares the arrays, which must be copied before writes.
     private final Map<K, Integer> map = new HashMap<K, Integer>();
     private final Ordering<V> ordering;
+    private final int arity;
+    private final int capacity;
+    private final Action1<? super Pair<K, V>> onEviction;
 
     public PriorityHeap() {
-        ordering = natural();
+        this(Ordering.<V> natural());
     }
 
     public PriorityHeap(Ordering<V> ordering) {
+        this(2, ordering);
+    }
+
+    // a wider arity (4 or 8) makes the heap shallower, and scans siblings adjacent in memory when bubbling down.
+    public PriorityHeap(int arity, Ordering<V> ordering) {
+        this(arity, ordering, Integer.MAX_VALUE, null);
+    }
+
+    // retains at most capacity elements, those ordered last; e.g. the top-K highest under Ordering.natural().
+    // once full, offering a new element either rejects it, or evicts the top to onEviction (nullable) to make room.
+    // it is 4-ary, as evictions mostly bubble down; the constructor below takes another arity.
+    public PriorityHeap(Ordering<V> ordering, int capacity, Action1<? super Pair<K, V>> onEviction) {
+        this(4, ordering, capacity, onEviction);
+    }
+
+    // builds the heap in linear time; see addAll.
+    public PriorityHeap(Ordering<V> ordering, Iterable<? extends Pair<K, V>> prioritized) {
+        this(ordering);
+        addAll(prioritized);
+    }
+
+    public PriorityHeap(int arity, Ordering<V> ordering, int capacity, Action1<? super Pair<K, V>> onEviction) {
+        checkArgument(arity >= 2, "arity must be at least 2: %s", arity);
+        checkArgument(capacity > 0, "capacity must be positive: %s", capacity);
+        this.arity = arity;
         this.ordering = ordering;
+        this.capacity = capacity;
+        this.onEviction = onEviction;
     }
 
     public PriorityHeap<K, V> offer(K element, V priority) {
-        val prioritized = Pair.of(element, priority);
-        if (map.containsKey(element)) {
-            int n = map.get(element);
-            list.set(n, prioritized);
-            if (n == bubbleUp(n)) {
-                bubbleDown(n);
+        mutate();
+        Integer n = map.get(element);
+        if (n != null) {
+            priorities[n] = priority;
+            if (n == percolateUp(n)) {
+                percolateDown(n);
+            }
+        } else if (size == capacity) {
+            if (ordering.compare(priority, priority(0)) > 0) { // otherwise, it cannot compete with the top to retain.
+                Pair<K, V> evicted = Pair.of(key(0), priority(0));
+                map.remove(evicted.first());
+                keys[0] = element;
+                priorities[0] = priority;
+                if (0 == percolateDown(0)) {
+                    map.put(element, 0);
+                }
+                if (null != onEviction) {
+                    onEviction.apply(evicted);
+                }
             }
         } else {
-            list.add(prioritized);
-            bubbleUp(list.size() - 1);
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                priorities = Arrays.copyOf(priorities, size * 2);
+            }
+            keys[size] = element;
+            priorities[size] = priority;
+            if (size == percolateUp(size)) {
+                map.put(element, size);
+            }
+            size++;
         }
         return this;
     }
 
+    // offers all, skipping elements that cannot compete with the top of a full heap without touching the heap.
+    public PriorityHeap<K, V> offerAll(Iterable<? extends Pair<K, V>> prioritized) {
+        for (Pair<K, V> p : prioritized) {
+            if (size < capacity || ordering.compare(p.second(), priority(0)) > 0 || map.containsKey(p.first())) {
+                offer(p.first(), p.second());
+            }
+        }
+        return this;
+    }
+
+    // offers all in bulk; when they outnumber the elements retained, it heapifies everything in O(n) by Floyd's method,
+    // and indexes positions in one pass. a bounded heap offers them one by one so as to evict.
+    public PriorityHeap<K, V> addAll(Iterable<? extends Pair<K, V>> prioritized) {
+        if (capacity != Integer.MAX_VALUE) {
+            return offerAll(prioritized);
+        }
+        mutate();
+        int from = size;
+        boolean updated = false;
+        for (Pair<K, V> p : prioritized) {
+            updated |= append(p.first(), p.second());
+        }
+        return heapify(from, updated);
+    }
+
+    // offers all elements of the other heap, which stays intact, in O(n + m) or O(m log(n + m)) whichever is less.
+    public PriorityHeap<K, V> merge(PriorityHeap<K, V> other) {
+        if (capacity != Integer.MAX_VALUE) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.key(i), other.priority(i));
+            }
+            return this;
+        }
+        mutate();
+        int from = size;
+        boolean updated = false;
+        for (int i = 0; i < other.size; i++) {
+            updated |= append(other.key(i), other.priority(i));
+        }
+        return heapify(from, updated);
+    }
+
     public Pair<K, V> peek() {
-        return !list.isEmpty() ? list.get(0) : null;
+        return size > 0 ? Pair.of(key(0), priority(0)) : null;
     }
 
     public Pair<K, V> poll() {
-        if (!list.isEmpty()) {
-            val poll = list.get(0);
-            list.set(0, list.get(list.size() - 1));
-            list.remove(list.size() - 1);
+        if (size > 0) {
+            mutate();
+            Pair<K, V> poll = Pair.of(key(0), priority(0));
             map.remove(poll.first());
-            if (!list.isEmpty()) {
-                bubbleDown(0);
+            keys[0] = keys[--size];
+            priorities[0] = priorities[size];
+            keys[size] = priorities[size] = null;
+            if (size > 0 && 0 == percolateDown(0)) {
+                map.put(key(0), 0);
             }
             return poll;
         } else {
@@ -61,47 +163,357 @@ public class PriorityHeap<K, V extends Comparable<V>> {
         }
     }
 
-    public int bubbleUp(int n) {
-        val p = (n - 1)/2;
-        if (n > 0 && compare(list, p, n, ordering) > 0) {
-            swap(list, p, n);
-            map.put(list.get(n).first(), n);
-            return bubbleUp(p);
-        } else {
-            map.put(list.get(n).first(), n);
-            return n;
+    public boolean contains(K element) {
+        return map.containsKey(element);
+    }
+
+    // returns the priority of the element, or null if absent.
+    public V priorityOf(K element) {
+        Integer n = map.get(element);
+        return n != null ? priority(n) : null;
+    }
+
+    // removes the element in O(log n), and returns its priority, or null if absent.
+    public V remove(K element) {
+        Integer n = map.remove(element);
+        if (n == null) {
+            return null;
         }
+        mutate();
+        V removed = priority(n);
+        keys[n] = keys[--size];
+        priorities[n] = priorities[size];
+        keys[size] = priorities[size] = null;
+        if (n < size && n == percolateUp(n) && n == percolateDown(n)) {
+            map.put(key(n), n);
+        }
+        return removed;
+    }
+
+    // moves the element toward the top, to a priority that must not be ordered after its current one.
+    public PriorityHeap<K, V> decreaseKey(K element, V priority) {
+        int n = indexOf(element);
+        checkArgument(ordering.compare(priority, priority(n)) <= 0, "%s is ordered after %s", priority, priority(n));
+        mutate();
+        priorities[n] = priority;
+        percolateUp(n);
+        return this;
     }
 
+    // moves the element away from the top, to a priority that must not be ordered before its current one.
+    public PriorityHeap<K, V> increaseKey(K element, V priority) {
+        int n = indexOf(element);
+        checkArgument(ordering.compare(priority, priority(n)) >= 0, "%s is ordered before %s", priority, priority(n));
+        mutate();
+        priorities[n] = priority;
+        percolateDown(n);
+        return this;
+    }
+
+    // moves the element at n toward the top as its priority requires, indexes it where it lands, and returns that index.
+    public int bubbleUp(int n) {
+        int m = percolateUp(n);
+        map.put(key(m), m);
+        return m;
+    }
+
+    // moves the element at n away from the top as its priority requires, indexes it where it lands, and returns that
+    // index.
     public int bubbleDown(int n) {
-        int c = n;
-        if (2*n + 1 < list.size() && compare(list, c, 2*n + 1, ordering) > 0) {
-            c = 2*n + 1;
+        int m = percolateDown(n);
+        map.put(key(m), m);
+        return m;
+    }
+
+    // moves the element at n up by shifting parents down into its hole, and returns where it lands.
+    // the map is updated only for elements that move; the caller indexes an element that stays put at n.
+    private int percolateUp(int n) {
+        mutate();
+        int from = n;
+        K key = key(n);
+        V priority = priority(n);
+        while (n > 0) {
+            int p = (n - 1) / arity;
+            if (ordering.compare(priority(p), priority) <= 0) {
+                break;
+            }
+            move(p, n);
+            n = p;
         }
-        if (2*n + 2 < list.size() && compare(list, c, 2*n + 2, ordering) > 0) {
-            c = 2*n + 2;
+        if (n != from) {
+            place(n, key, priority);
         }
-        if (c != n) { // c is the index of the smallest of list[n], list[2*n +1], and list[2*n + 2].
-            swap(list, c, n);
-            map.put(list.get(n).first(), n);
-            return bubbleDown(c);
-        } else {
-            map.put(list.get(n).first(), n);
-            return n;
+        return n;
+    }
+
+    // moves the element at n down by shifting the least of its children up into its hole, and returns where it lands.
+    private int percolateDown(int n) {
+        mutate();
+        int from = n;
+        K key = key(n);
+        V priority = priority(n);
+        for (int first; (first = arity * n + 1) < size; ) {
+            int c = first;
+            for (int i = first + 1, last = Math.min(first + arity, size); i < last; i++) {
+                if (ordering.compare(priority(c), priority(i)) > 0) {
+                    c = i;
+                }
+            }
+            if (ordering.compare(priority, priority(c)) <= 0) {
+                break;
+            }
+            move(c, n);
+            n = c;
+        }
+        if (n != from) {
+            place(n, key, priority);
         }
+        return n;
     }
 
     public int size() {
-        return map.size();
+        return size;
+    }
+
+    // iterates elements in priority order without polling them, in O(k log k) for the first k, as it expands
+    // a frontier heap of indices from the top. it fails fast if the heap gets modified meanwhile.
+    @Override
+    public Iterator<Pair<K, V>> iterator() {
+        return new OrderedIterator<K, V>(keys, priorities, size, arity, ordering, this);
+    }
+
+    // returns up to limit elements in priority order.
+    public ImmutableList<Pair<K, V>> sorted(int limit) {
+        return sorted(iterator(), limit);
+    }
+
+    // returns a read-only view as of now in O(1); the heap copies its arrays on the next write instead,
+    // so that the snapshot can be iterated in other threads while this heap keeps changing.
+    public Snapshot<K, V> snapshot() {
+        shared = true;
+        return new Snapshot<K, V>(keys, priorities, size, arity, ordering);
+    }
+
+    public static class Snapshot<K, V extends Comparable<V>> implements Iterable<Pair<K, V>> {
+        private final Object[] keys;
+        private final Object[] priorities;
+        private final int size;
+        private final int arity;
+        private final Ordering<V> ordering;
+
+        private Snapshot(Object[] keys, Object[] priorities, int size, int arity, Ordering<V> ordering) {
+            this.keys = keys;
+            this.priorities = priorities;
+            this.size = size;
+            this.arity = arity;
+            this.ordering = ordering;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Pair<K, V> peek() {
+            return size > 0 ? Pair.of((K)keys[0], (V)priorities[0]) : null;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Pair<K, V>> iterator() {
+            return new OrderedIterator<K, V>(keys, priorities, size, arity, ordering, null);
+        }
+
+        public ImmutableList<Pair<K, V>> sorted(int limit) {
+            return PriorityHeap.sorted(iterator(), limit);
+        }
+    }
+
+    private static <K, V> ImmutableList<Pair<K, V>> sorted(Iterator<Pair<K, V>> iterator, int limit) {
+        ImmutableList.Builder<Pair<K, V>> sorted = ImmutableList.builder();
+        for (int i = 0; i < limit && iterator.hasNext(); i++) {
+            sorted.add(iterator.next());
+        }
+        return sorted.build();
+    }
+
+    private static class OrderedIterator<K, V extends Comparable<V>> implements Iterator<Pair<K, V>> {
+        private final Object[] keys;
+        private final Object[] priorities;
+        private final int size;
+        private final int arity;
+        private final Ordering<V> ordering;
+        private final PriorityHeap<K, V> owner; // null for a snapshot that never changes.
+        private final int modCount;
+        private int[] frontier = new int[16]; // a binary heap of indices into the arrays, by their priorities.
+        private int count;
+
+        OrderedIterator(Object[] keys, Object[] priorities, int size, int arity, Ordering<V> ordering, PriorityHeap<K, V> owner) {
+            this.keys = keys;
+            this.priorities = priorities;
+            this.size = size;
+            this.arity = arity;
+            this.ordering = ordering;
+            this.owner = owner;
+            this.modCount = null != owner ? owner.modCount : 0;
+            if (size > 0) {
+                frontier[count++] = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return count > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Pair<K, V> next() {
+            if (null != owner && owner.modCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (count == 0) {
+                throw new NoSuchElementException();
+            }
+            int n = frontier[0];
+            int last = frontier[--count];
+            if (count > 0) {
+                siftDown(last);
+            }
+            for (int c = arity * n + 1, end = Math.min(c + arity, size); c < end; c++) {
+                siftUp(c);
+            }
+            return Pair.of((K)keys[n], (V)priorities[n]);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void siftUp(int index) {
+            if (count == frontier.length) {
+                frontier = Arrays.copyOf(frontier, count * 2);
+            }
+            int i = count++;
+            while (i > 0 && compare(frontier[(i - 1) / 2], index) > 0) {
+                frontier[i] = frontier[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            frontier[i] = index;
+        }
+
+        private void siftDown(int index) {
+            int i = 0;
+            for (int c; (c = 2*i + 1) < count; i = c) {
+                if (c + 1 < count && compare(frontier[c], frontier[c + 1]) > 0) {
+                    c++;
+                }
+                if (compare(index, frontier[c]) <= 0) {
+                    break;
+                }
+                frontier[i] = frontier[c];
+            }
+            frontier[i] = index;
+        }
+
+        @SuppressWarnings("unchecked")
+        private int compare(int i, int j) {
+            return ordering.compare((V)priorities[i], (V)priorities[j]);
+        }
+    }
+
+    // copies the arrays if a snapshot shares them, and invalidates iterators.
+    private void mutate() {
+        modCount++;
+        if (shared) {
+            keys = keys.clone();
+            priorities = priorities.clone();
+            shared = false;
+        }
+    }
+
+    private int indexOf(K element) {
+        Integer n = map.get(element);
+        checkArgument(n != null, "no such element: %s", element);
+        return n;
+    }
+
+    // appends a new element at the end, or updates the priority of an existing one in place and returns true.
+    private boolean append(K key, V priority) {
+        Integer n = map.get(key);
+        if (n != null) {
+            priorities[n] = priority;
+            return true;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            priorities = Arrays.copyOf(priorities, size * 2);
+        }
+        keys[size] = key;
+        priorities[size] = priority;
+        map.put(key, size++);
+        return false;
+    }
+
+    // restores the heap after elements got appended from the index on, or updated in place.
+    private PriorityHeap<K, V> heapify(int from, boolean updated) {
+        int appended = size - from;
+        if (!updated && (long)appended * (32 - Integer.numberOfLeadingZeros(size)) < size) {
+            for (int i = from; i < size; i++) {
+                percolateUp(i);
+            }
+        } else if (size > 1) {
+            for (int i = (size - 2) / arity; i >= 0; i--) {
+                sink(i);
+            }
+            for (int i = 0; i < size; i++) {
+                map.put(key(i), i);
+            }
+        }
+        return this;
+    }
+
+    // percolates down as percolateDown does, but leaves the map to be re-indexed at once by heapify.
+    private void sink(int n) {
+        Object key = keys[n];
+        V priority = priority(n);
+        for (int first; (first = arity * n + 1) < size; ) {
+            int c = first;
+            for (int i = first + 1, last = Math.min(first + arity, size); i < last; i++) {
+                if (ordering.compare(priority(c), priority(i)) > 0) {
+                    c = i;
+                }
+            }
+            if (ordering.compare(priority, priority(c)) <= 0) {
+                break;
+            }
+            keys[n] = keys[c];
+            priorities[n] = priorities[c];
+            n = c;
+        }
+        keys[n] = key;
+        priorities[n] = priority;
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        priorities[to] = priorities[from];
+        map.put(key(to), to);
+    }
+
+    private void place(int n, K key, V priority) {
+        keys[n] = key;
+        priorities[n] = priority;
+        map.put(key, n);
     }
 
-    private static <E, V> int compare(List<Pair<E, V>> list, int i, int j, Ordering<V> ordering) {
-        return ordering.compare(list.get(i).second(), list.get(j).second());
+    @SuppressWarnings("unchecked")
+    private K key(int n) {
+        return (K)keys[n];
     }
 
-    private static <E> void swap(List<E> list, int i, int j) {
-        E e = list.get(i);
-        list.set(i, list.get(j));
-        list.set(j, e);
+    @SuppressWarnings("unchecked")
+    private V priority(int n) {
+        return (V)priorities[n];
     }
 }
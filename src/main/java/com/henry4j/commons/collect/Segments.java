@@ -0,0 +1,54 @@
+package com.henry4j.commons.collect;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import lombok.SneakyThrows;
+
+// A long-addressable byte space over 64MB ByteBuffer segments, either direct or mapped from a file channel (nullable),
+// allocated lazily when first touched, and zero-filled. Values must be aligned so as not to straddle segments.
+final class Segments {
+    private static final int SHIFT = 26;
+    private static final int MASK = (1 << SHIFT) - 1;
+    private final ByteBuffer[] buffers;
+    private final long bytes;
+    private final FileChannel channel;
+
+    Segments(long bytes, FileChannel channel) {
+        this.buffers = new ByteBuffer[(int)((bytes + MASK) >>> SHIFT)];
+        this.bytes = bytes;
+        this.channel = channel;
+    }
+
+    long getLong(long offset) {
+        return segment(offset).getLong((int)(offset & MASK));
+    }
+
+    void putLong(long offset, long value) {
+        segment(offset).putLong((int)(offset & MASK), value);
+    }
+
+    double getDouble(long offset) {
+        return segment(offset).getDouble((int)(offset & MASK));
+    }
+
+    void putDouble(long offset, double value) {
+        segment(offset).putDouble((int)(offset & MASK), value);
+    }
+
+    @SneakyThrows({ IOException.class })
+    private ByteBuffer segment(long offset) {
+        int i = (int)(offset >>> SHIFT);
+        ByteBuffer buffer = buffers[i];
+        if (null == buffer) {
+            long position = (long)i << SHIFT;
+            int size = (int)Math.min(1 << SHIFT, bytes - position);
+            buffer = null != channel ? channel.map(MapMode.READ_WRITE, position, size) : ByteBuffer.allocateDirect(size);
+            buffer = buffers[i] = buffer.order(ByteOrder.nativeOrder());
+        }
+        return buffer;
+    }
+}
@@ -2,11 +2,9 @@ package com.henry4j.commons.collect;
  
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.Accessors;
  
-@RequiredArgsConstructor(staticName = "of")
 @Getter @Accessors(fluent = true)
 @ToString
 @EqualsAndHashCode
@@ -14,4 +12,36 @@ public class Triple<U, V, W> {
     private final U first;
     private final V second;
     private final W third;
+
+    protected Triple(U first, V second, W third) {
+        this.first = first;
+        this.second = second;
+        this.third = third;
+    }
+
+    public static <U, V, W> Triple<U, V, W> of(U first, V second, W third) {
+        return new Triple<U, V, W>(first, second, third);
+    }
+
+    // returns a triple that computes its hash code once; see Pair.cached.
+    public static <U, V, W> Triple<U, V, W> cached(U first, V second, W third) {
+        return new Cached<U, V, W>(first, second, third);
+    }
+
+    private static class Cached<U, V, W> extends Triple<U, V, W> {
+        private int hash;
+
+        Cached(U first, V second, W third) {
+            super(first, second, third);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = hash;
+            if (h == 0) {
+                hash = h = super.hashCode();
+            }
+            return h;
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package com.henry4j.commons.collect;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import com.google.common.collect.AbstractIterator;
+
+// A list of triples stored column-wise in parallel arrays; see PairList.
+public class TripleList<U, V, W> implements Iterable<Triple<U, V, W>> {
+    private Object[] firsts;
+    private Object[] seconds;
+    private Object[] thirds;
+    private int size;
+
+    public TripleList() {
+        this(16);
+    }
+
+    public TripleList(int initialCapacity) {
+        firsts = new Object[Math.max(1, initialCapacity)];
+        seconds = new Object[firsts.length];
+        thirds = new Object[firsts.length];
+    }
+
+    public static <U, V, W> TripleList<U, V, W> from(Iterable<? extends Triple<U, V, W>> triples) {
+        return new TripleList<U, V, W>().addAll(triples);
+    }
+
+    public TripleList<U, V, W> add(U first, V second, W third) {
+        if (size == firsts.length) {
+            firsts = Arrays.copyOf(firsts, size * 2);
+            seconds = Arrays.copyOf(seconds, size * 2);
+            thirds = Arrays.copyOf(thirds, size * 2);
+        }
+        firsts[size] = first;
+        seconds[size] = second;
+        thirds[size++] = third;
+        return this;
+    }
+
+    public TripleList<U, V, W> addAll(Iterable<? extends Triple<U, V, W>> triples) {
+        for (Triple<U, V, W> t : triples) {
+            add(t.first(), t.second(), t.third());
+        }
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    public U first(int index) {
+        checkIndex(index);
+        return (U)firsts[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V second(int index) {
+        checkIndex(index);
+        return (V)seconds[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public W third(int index) {
+        checkIndex(index);
+        return (W)thirds[index];
+    }
+
+    public TripleList<U, V, W> set(int index, U first, V second, W third) {
+        checkIndex(index);
+        firsts[index] = first;
+        seconds[index] = second;
+        thirds[index] = third;
+        return this;
+    }
+
+    public Triple<U, V, W> get(int index) {
+        return Triple.of(first(index), second(index), third(index));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public Iterator<Triple<U, V, W>> iterator() {
+        return new AbstractIterator<Triple<U, V, W>>() {
+            private final Cursor cursor = cursor();
+
+            @Override
+            protected Triple<U, V, W> computeNext() {
+                return cursor.next() ? Triple.of(cursor.first(), cursor.second(), cursor.third()) : endOfData();
+            }
+        };
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index + " out of " + size);
+        }
+    }
+
+    // A flyweight that moves over the triples in order: while (cursor.next()) { cursor.first() ... }
+    public class Cursor {
+        private int index = -1;
+
+        public boolean next() {
+            return index < size && ++index < size;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        @SuppressWarnings("unchecked")
+        public U first() {
+            checkIndex(index);
+            return (U)firsts[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        public V second() {
+            checkIndex(index);
+            return (V)seconds[index];
+        }
+
+        @SuppressWarnings("unchecked")
+        public W third() {
+            checkIndex(index);
+            return (W)thirds[index];
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.henry4j.commons;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.henry4j.commons.base.Functions.Function1;
+import com.henry4j.commons.collect.BoundedCache;
+
+// Replays Zipf-skewed access traces, whose popular keys drift midway, and reports hit rates and throughput by policy.
+// Run: java -cp target/classes:target/test-classes:... com.henry4j.commons.BoundedCacheBenchmark [capacity]
+public class BoundedCacheBenchmark {
+    private static final Function1<Integer, Integer> IDENTITY = new Function1<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer i) {
+            return i;
+        }
+    };
+
+    public static void main(String[] args) {
+        int capacity = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int[] trace = zipf(100 * capacity, 1.0, 2000 * capacity, new Random(42));
+        for (int round = 0; round < 3; round++) { // the first round warms up the JIT.
+            run("lru", new BoundedCache<Integer, Integer>(capacity, BoundedCache.<Integer> lru()), trace);
+            run("lfu", new BoundedCache<Integer, Integer>(capacity, BoundedCache.<Integer> lfu()), trace);
+            run("tinyLfu", new BoundedCache<Integer, Integer>(capacity, BoundedCache.<Integer> tinyLfu()), trace);
+        }
+    }
+
+    private static void run(String name, BoundedCache<Integer, Integer> cache, int[] trace) {
+        long begins = System.nanoTime();
+        for (int key : trace) {
+            cache.get(key, IDENTITY);
+        }
+        long nanos = System.nanoTime() - begins;
+        System.out.printf("%-8s hit-rate=%.3f, %,d ops/s, %s%n", name, cache.stats().hitRate(), trace.length * 1000000000L / nanos, cache.stats());
+    }
+
+    // draws ranks from a Zipf(s) distribution over n keys by inverse transform, shifting key ids at half the trace.
+    private static int[] zipf(int n, double s, int length, Random random) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            cdf[i] = sum += 1 / Math.pow(i + 1, s);
+        }
+        int[] trace = new int[length];
+        for (int i = 0; i < length; i++) {
+            int rank = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            rank = rank < 0 ? -rank - 1 : rank;
+            trace[i] = i < length / 2 ? rank : (rank + n / 2) % n;
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,89 @@
+package com.henry4j.commons;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import lombok.val;
+
+import org.junit.Test;
+
+import com.henry4j.commons.base.Functions.Function1;
+import com.henry4j.commons.collect.BoundedCache;
+
+public class BoundedCacheTest {
+    private static final Function1<String, String> UPCASE = new Function1<String, String>() {
+        @Override
+        public String apply(String s) {
+            return s.toUpperCase();
+        }
+    };
+
+    @Test
+    public void testLru() {
+        val cache = new BoundedCache<String, String>(2, BoundedCache.<String> lru());
+        assertThat(cache.get("a", UPCASE), equalTo("A"));
+        assertThat(cache.get("b", UPCASE), equalTo("B"));
+        assertThat(cache.get("a", UPCASE), equalTo("A"));
+        cache.put("c", "C"); // evicts b as the least recently used.
+        assertThat(cache.getIfPresent("b"), nullValue());
+        assertThat(cache.getIfPresent("a"), equalTo("A"));
+        assertThat(cache.invalidate("c"), equalTo("C"));
+        assertThat(cache.size(), equalTo(1));
+        val stats = cache.stats();
+        assertThat(stats.hits(), equalTo(2L));
+        assertThat(stats.misses(), equalTo(3L));
+        assertThat(stats.evictions(), equalTo(1L));
+    }
+
+    @Test
+    public void testLfu() {
+        val cache = new BoundedCache<String, String>(2, BoundedCache.<String> lfu());
+        for (int i = 0; i < 3; i++) {
+            cache.get("a", UPCASE);
+        }
+        cache.get("b", UPCASE);
+        cache.get("c", UPCASE); // evicts b as the least frequently used.
+        assertThat(cache.getIfPresent("b"), nullValue());
+        for (String s : new String[] { "c", "c", "c", "d" }) { // evicts a, once c overtakes it.
+            cache.get(s, UPCASE);
+        }
+        assertThat(cache.getIfPresent("c"), equalTo("C"));
+        assertThat(cache.getIfPresent("a"), nullValue());
+    }
+
+    @Test
+    public void testLfuAgesOnlyOnEvictions() {
+        val cache = new BoundedCache<String, String>(2, BoundedCache.<String> lfu());
+        for (String s : new String[] { "x", "x", "a", "a", "a", "a", "a" }) {
+            cache.get(s, UPCASE);
+        }
+        cache.invalidate("a"); // would let new keys outrank x, if it aged the cache.
+        cache.get("b", UPCASE);
+        cache.get("c", UPCASE); // evicts b as the least frequently used.
+        assertThat(cache.getIfPresent("x"), equalTo("X"));
+        assertThat(cache.getIfPresent("b"), nullValue());
+    }
+
+    @Test
+    public void testTinyLfuRejectsOneHitWonders() {
+        val cache = new BoundedCache<String, String>(2, BoundedCache.<String> tinyLfu());
+        for (int i = 0; i < 3; i++) {
+            cache.get("a", UPCASE);
+            cache.get("b", UPCASE);
+        }
+        cache.get("c", UPCASE);
+        assertThat(cache.getIfPresent("a"), equalTo("A"));
+        assertThat(cache.getIfPresent("b"), equalTo("B"));
+        assertThat(cache.stats().rejections(), equalTo(1L));
+    }
+
+    @Test
+    public void testTinyLfuNullKey() {
+        val cache = new BoundedCache<String, String>(1, BoundedCache.<String> tinyLfu());
+        cache.put(null, "null");
+        assertThat(cache.getIfPresent(null), equalTo("null"));
+        cache.put("a", "A"); // rejected, as a is no more popular than null.
+        assertThat(cache.getIfPresent(null), equalTo("null"));
+    }
+}
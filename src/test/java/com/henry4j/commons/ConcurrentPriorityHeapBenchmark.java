@@ -0,0 +1,86 @@
+package com.henry4j.commons;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import com.google.common.collect.Ordering;
+import com.henry4j.commons.collect.ConcurrentPriorityHeap;
+import com.henry4j.commons.collect.PriorityHeap;
+
+// Measures throughput of a dispatcher-like mix (3 re-prioritizing offers per poll) across thread counts,
+// for ConcurrentPriorityHeap against a PriorityHeap behind a global lock.
+// Run: java -cp target/classes:target/test-classes:... com.henry4j.commons.ConcurrentPriorityHeapBenchmark [opsPerThread]
+public class ConcurrentPriorityHeapBenchmark {
+    interface Heap {
+        void offer(int key, long priority);
+        void poll();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int ops = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+        for (int round = 0; round < 3; round++) { // the first round warms up the JIT.
+            for (int threads = 1; threads <= 2 * Runtime.getRuntime().availableProcessors(); threads *= 2) {
+                final PriorityHeap<Integer, Long> locked = new PriorityHeap<Integer, Long>(4, Ordering.<Long> natural());
+                final ConcurrentPriorityHeap<Integer, Long> striped = new ConcurrentPriorityHeap<Integer, Long>(Ordering.<Long> natural());
+                long globalLock = run(threads, ops, new Heap() {
+                    @Override
+                    public void offer(int key, long priority) {
+                        synchronized (locked) {
+                            locked.offer(key, priority);
+                        }
+                    }
+
+                    @Override
+                    public void poll() {
+                        synchronized (locked) {
+                            locked.poll();
+                        }
+                    }
+                });
+                long concurrent = run(threads, ops, new Heap() {
+                    @Override
+                    public void offer(int key, long priority) {
+                        striped.offer(key, priority);
+                    }
+
+                    @Override
+                    public void poll() {
+                        striped.poll();
+                    }
+                });
+                System.out.printf("round %d, threads %2d: global-lock=%,d ops/s, striped=%,d ops/s%n", round, threads, globalLock, concurrent);
+            }
+        }
+    }
+
+    private static long run(final int threads, final int ops, final Heap heap) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final Random random = new Random(t);
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < ops; i++) {
+                            if (i % 4 == 3) {
+                                heap.poll();
+                            } else {
+                                heap.offer(random.nextInt(100000), random.nextLong());
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }.start();
+        }
+        long begins = System.nanoTime();
+        start.countDown();
+        done.await();
+        return (long)threads * ops * 1000000000L / (System.nanoTime() - begins);
+    }
+}
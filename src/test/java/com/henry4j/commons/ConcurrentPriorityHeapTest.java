@@ -0,0 +1,77 @@
+package com.henry4j.commons;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import lombok.val;
+
+import org.junit.Test;
+
+import com.google.common.collect.Ordering;
+import com.henry4j.commons.collect.ConcurrentPriorityHeap;
+import com.henry4j.commons.collect.Pair;
+
+public class ConcurrentPriorityHeapTest {
+    @Test
+    public void testUpsertAndPoll() {
+        val ph = new ConcurrentPriorityHeap<String, Integer>(3, Ordering.<Integer> natural().reverse());
+        ph.offer("d", 10).offer("e", 30).offer("h", 50).offer("a", 80);
+        ph.offer("a", 5).offer("h", 120);
+        assertThat(ph.size(), equalTo(4));
+        assertThat(ph.peek(), equalTo(Pair.of("h", 120)));
+        assertThat(ph.poll(), equalTo(Pair.of("h", 120)));
+        assertThat(ph.poll(), equalTo(Pair.of("e", 30)));
+        assertThat(ph.poll(), equalTo(Pair.of("d", 10)));
+        assertThat(ph.poll(), equalTo(Pair.of("a", 5)));
+        assertThat(ph.poll(), nullValue());
+    }
+
+    @Test
+    public void testConcurrentOffersAndPolls() throws Exception {
+        val ph = new ConcurrentPriorityHeap<Integer, Integer>(8, Ordering.<Integer> natural());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Integer>>> futures = new ArrayList<Future<List<Integer>>>();
+        for (int t = 0; t < 8; t++) {
+            final int base = t * 10000;
+            futures.add(executor.submit(new Callable<List<Integer>>() {
+                @Override
+                public List<Integer> call() {
+                    List<Integer> polled = new ArrayList<Integer>();
+                    for (int i = 0; i < 10000; i++) {
+                        ph.offer(base + i, i);
+                        ph.offer(base + i, -i); // re-prioritizes the key just offered.
+                        if (i % 2 == 0) {
+                            polled.add(ph.poll().first());
+                        }
+                    }
+                    return polled;
+                }
+            }));
+        }
+        List<Integer> polled = new ArrayList<Integer>();
+        for (val f : futures) {
+            polled.addAll(f.get());
+        }
+        executor.shutdown();
+        assertThat(ph.size(), equalTo(40000));
+        int last = Integer.MIN_VALUE;
+        for (Pair<Integer, Integer> p; null != (p = ph.poll()); ) {
+            assertThat(p.second() >= last, equalTo(true));
+            last = p.second();
+            polled.add(p.first());
+        }
+        Collections.sort(polled);
+        for (int i = 0; i < 80000; i++) {
+            assertThat(polled.get(i), equalTo(i)); // every key is polled exactly once.
+        }
+    }
+}
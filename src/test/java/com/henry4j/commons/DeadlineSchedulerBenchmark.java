@@ -0,0 +1,55 @@
+package com.henry4j.commons;
+
+import java.util.Random;
+
+import com.google.common.collect.Ordering;
+import com.henry4j.commons.collect.DeadlineScheduler;
+import com.henry4j.commons.collect.PriorityHeap;
+
+// Drives request timeouts where 9 in 10 get cancelled before firing, with DeadlineScheduler against PriorityHeap<K, Long>.
+// Run: java -cp target/classes:target/test-classes:... com.henry4j.commons.DeadlineSchedulerBenchmark [inFlight]
+public class DeadlineSchedulerBenchmark {
+    public static void main(String[] args) {
+        int inFlight = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int requests = 5 * inFlight;
+        for (int round = 0; round < 5; round++) { // the first rounds warm up the JIT.
+            System.out.printf("round %d: heap=%dms, wheel=%dms%n", round, heap(inFlight, requests), wheel(inFlight, requests));
+        }
+    }
+
+    // every millisecond, starts requests with 1-30s timeouts, and completes the one started inFlight requests ago.
+    private static long heap(int inFlight, int requests) {
+        Random random = new Random(42);
+        PriorityHeap<Integer, Long> ph = new PriorityHeap<Integer, Long>(4, Ordering.<Long> natural());
+        long begins = System.nanoTime();
+        for (int i = 0, now = 0; i < requests; i++) {
+            if (i % 100 == 0) {
+                now++;
+                while (ph.size() > 0 && ph.peek().second() <= now) {
+                    ph.poll();
+                }
+            }
+            ph.offer(i, now + 1000L + random.nextInt(29000));
+            if (i >= inFlight && random.nextInt(10) > 0) {
+                ph.remove(i - inFlight);
+            }
+        }
+        return (System.nanoTime() - begins) / 1000000;
+    }
+
+    private static long wheel(int inFlight, int requests) {
+        Random random = new Random(42);
+        DeadlineScheduler<Integer> ds = new DeadlineScheduler<Integer>(1, 0);
+        long begins = System.nanoTime();
+        for (int i = 0, now = 0; i < requests; i++) {
+            if (i % 100 == 0) {
+                ds.advance(++now);
+            }
+            ds.schedule(i, now + 1000L + random.nextInt(29000));
+            if (i >= inFlight && random.nextInt(10) > 0) {
+                ds.cancel(i - inFlight);
+            }
+        }
+        return (System.nanoTime() - begins) / 1000000;
+    }
+}
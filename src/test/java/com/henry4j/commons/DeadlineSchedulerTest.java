@@ -0,0 +1,83 @@
+package com.henry4j.commons;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import lombok.val;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.henry4j.commons.collect.DeadlineScheduler;
+import com.henry4j.commons.collect.Pair;
+
+public class DeadlineSchedulerTest {
+    @Test
+    public void testScheduleAndCancel() {
+        val ds = new DeadlineScheduler<String>(10, 1000);
+        ds.schedule("a", 1050).schedule("b", 1005).schedule("c", 1000 + 10 * 64 * 64 + 7).schedule("d", 900);
+        assertThat(ds.cancel("a"), equalTo(1050L));
+        assertThat(ds.cancel("a"), nullValue());
+        ds.schedule("d", 1100);
+        assertThat(ds.deadlineOf("d"), equalTo(1100L));
+        assertThat(ds.advance(1009), equalTo(ImmutableList.<Pair<String, Long>> of()));
+        assertThat(ds.advance(1010), equalTo(ImmutableList.of(Pair.of("b", 1005L))));
+        assertThat(ds.advance(2000), equalTo(ImmutableList.of(Pair.of("d", 1100L))));
+        assertThat(ds.size(), equalTo(1));
+        assertThat(ds.advance(1000 + 10 * 64 * 64 + 7), equalTo(ImmutableList.<Pair<String, Long>> of()));
+        assertThat(ds.advance(1000 + 10 * 64 * 64 + 10), equalTo(ImmutableList.of(Pair.of("c", 1000L + 10 * 64 * 64 + 7))));
+    }
+
+    @Test
+    public void testAgainstNaiveModel() {
+        val random = new Random(3);
+        val ds = new DeadlineScheduler<Integer>(1, 0, 3, 2); // 2 levels of 8 slots overflow beyond 64 ticks.
+        Map<Integer, Long> expected = new HashMap<Integer, Long>();
+        long now = 0;
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(500);
+            switch (random.nextInt(4)) {
+            case 0:
+                assertThat(ds.cancel(key), equalTo(expected.remove(key)));
+                break;
+            case 1:
+                now += random.nextInt(random.nextInt(10) == 0 ? 200 : 5);
+                Set<Integer> expired = new HashSet<Integer>();
+                for (Iterator<Map.Entry<Integer, Long>> it = expected.entrySet().iterator(); it.hasNext(); ) {
+                    val e = it.next();
+                    if (e.getValue() <= now) {
+                        expired.add(e.getKey());
+                        it.remove();
+                    }
+                }
+                long last = Long.MIN_VALUE;
+                val actual = new HashSet<Integer>();
+                for (val p : ds.advance(now)) {
+                    assertThat(p.second() >= last, equalTo(true));
+                    last = p.second();
+                    actual.add(p.first());
+                }
+                assertThat(actual, equalTo(expired));
+                break;
+            default:
+                long deadline = now + 1 + random.nextInt(random.nextInt(10) == 0 ? 1000 : 50);
+                ds.schedule(key, deadline);
+                expected.put(key, deadline);
+            }
+            assertThat(ds.size(), equalTo(expected.size()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsWideLevels() {
+        new DeadlineScheduler<Integer>(1, 0, 31, 1); // 2^31 slots would overflow the array size.
+    }
+}
@@ -1,6 +1,13 @@
 package com.henry4j.commons;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import lombok.val;
 
@@ -8,7 +15,25 @@ import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Range;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.henry4j.commons.base.Actions.Action1;
+import com.henry4j.commons.base.Actions.LongAction1;
 import com.henry4j.commons.base.Extensions;
+import com.henry4j.commons.base.Functions.AsyncFunction2;
+import com.henry4j.commons.base.Functions.Function1;
+import com.henry4j.commons.base.Functions.Function3;
+import com.henry4j.commons.base.Functions.IntToIntFunction1;
+import com.henry4j.commons.base.Functions.LongToDoubleFunction1;
+import com.henry4j.commons.base.Functions.ToLongFunction1;
+import com.henry4j.commons.base.Predicates.IntPredicate1;
+import com.henry4j.commons.base.Predicates.Predicate1;
+import com.henry4j.commons.base.Primitives;
 
 public class ExtensionsTest {
     @Test
@@ -21,4 +46,266 @@ public class ExtensionsTest {
         val ms = ends - begins;
         Assert.assertThat(ms, Matchers.greaterThan(3000L));
     }
+
+    @Test
+    public void testParallelMapSelectEach() {
+        val ints = ContiguousSet.create(Range.closedOpen(0, 10000), DiscreteDomain.integers()).asList();
+        val squares = Extensions.parallelMap(ints, new Function1<Integer, Long>() {
+            @Override
+            public Long apply(Integer i) {
+                return (long)i * i;
+            }
+        });
+        Assert.assertThat(squares.size(), Matchers.equalTo(10000));
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertThat(squares.get(i), Matchers.equalTo((long)i * i));
+        }
+        List<Integer> evens = Extensions.parallelSelect(ints, new Predicate1<Integer>() {
+            @Override
+            public Boolean apply(Integer i) {
+                return i % 2 == 0;
+            }
+        });
+        Assert.assertThat(evens.size(), Matchers.equalTo(5000));
+        Assert.assertThat(evens.get(4999), Matchers.equalTo(9998));
+        val sum = new AtomicInteger();
+        Extensions.parallelEach(ints, new Action1<Integer>() {
+            @Override
+            public void apply(Integer i) {
+                sum.addAndGet(i % 3);
+            }
+        });
+        Assert.assertThat(sum.get(), Matchers.equalTo(9999));
+        Assert.assertThat(Extensions.parallelMap(Arrays.asList(1, 2, 3), new Function1<Integer, Integer>() { // sequentially below the threshold.
+            @Override
+            public Integer apply(Integer i) {
+                return null;
+            }
+        }), Matchers.contains((Integer)null, null, null));
+    }
+
+    @Test
+    public void testParallelMapPropagatesFirstFailure() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        val applied = new AtomicInteger();
+        try {
+            Extensions.parallelMap(Arrays.asList(new Integer[1000]), new Function1<Integer, Integer>() {
+                @Override
+                public Integer apply(Integer i) {
+                    if (applied.incrementAndGet() == 10) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return i;
+                }
+            }, executor, 8);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertThat(e.getMessage(), Matchers.equalTo("boom"));
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertThat(applied.get(), Matchers.lessThan(1000)); // chunks yet to start were skipped.
+    }
+
+    @Test
+    public void testPrimitiveArrays() {
+        val ints = ContiguousSet.create(Range.closedOpen(0, 100), DiscreteDomain.integers());
+        Assert.assertThat(Extensions.intArray(ints).length, Matchers.equalTo(100));
+        Assert.assertThat(Extensions.intArray(ints)[99], Matchers.equalTo(99));
+        Assert.assertThat(Extensions.intArray(Extensions.select(ints, new Predicate1<Integer>() { // of unknown size.
+            @Override
+            public Boolean apply(Integer i) {
+                return i >= 90;
+            }
+        })), Matchers.equalTo(new int[] { 90, 91, 92, 93, 94, 95, 96, 97, 98, 99 }));
+        Assert.assertThat(Extensions.longArray(Arrays.asList(1L, 2L)), Matchers.equalTo(new long[] { 1, 2 }));
+        Assert.assertThat(Extensions.doubleArray(Arrays.<Double> asList()), Matchers.equalTo(new double[0]));
+        Assert.assertThat(Extensions.intArray(Primitives.range(0, 40))[39], Matchers.equalTo(39));
+        Assert.assertThat(Extensions.longArray(Primitives.longIterable(3, 1, 2)), Matchers.equalTo(new long[] { 3, 1, 2 }));
+        Assert.assertThat(Extensions.doubleArray(Primitives.doubleIterable()), Matchers.equalTo(new double[0]));
+        Assert.assertThat(Extensions.ints(Extensions.concat(ints, ints)).length, Matchers.equalTo(200)); // grows past 16.
+        Assert.assertThat(Extensions.strings(Extensions.map(Arrays.asList(1, 2), new Function1<Integer, String>() {
+            @Override
+            public String apply(Integer i) {
+                return String.valueOf(i);
+            }
+        })), Matchers.arrayContaining("1", "2"));
+    }
+
+    @Test
+    public void testFanOut() throws Exception {
+        val pending = new ArrayList<SettableFuture<Integer>>();
+        val batches = new ArrayList<List<Integer>>();
+        val sums = Extensions.fanOut(Arrays.asList(1, 2, 3, 4, 5, 6, 7), 2, 2, new Function1<List<Integer>, ListenableFuture<Integer>>() {
+            @Override
+            public ListenableFuture<Integer> apply(List<Integer> batch) {
+                batches.add(batch);
+                SettableFuture<Integer> f = SettableFuture.create();
+                pending.add(f);
+                return f;
+            }
+        });
+        Assert.assertThat(pending.size(), Matchers.equalTo(2)); // at most 2 in flight.
+        pending.get(1).set(7);
+        Assert.assertThat(pending.size(), Matchers.equalTo(3));
+        pending.get(2).set(11);
+        pending.get(0).set(3);
+        Assert.assertThat(pending.size(), Matchers.equalTo(4));
+        Assert.assertThat(sums.isDone(), Matchers.equalTo(false));
+        pending.get(3).set(7);
+        Assert.assertThat(sums.get(), Matchers.contains(3, 7, 11, 7));
+        Assert.assertThat(batches.get(3), Matchers.contains(7));
+    }
+
+    @Test
+    public void testFanOutFailsFast() throws Exception {
+        val pending = new ArrayList<SettableFuture<Integer>>();
+        val sums = Extensions.fanOut(ContiguousSet.create(Range.closedOpen(0, 100000), DiscreteDomain.integers()), 1, 3, new Function1<List<Integer>, ListenableFuture<Integer>>() {
+            @Override
+            public ListenableFuture<Integer> apply(List<Integer> batch) {
+                if (batch.get(0) < 50000) { // completes synchronously, without recursing per batch.
+                    return Futures.immediateFuture(batch.get(0));
+                }
+                SettableFuture<Integer> f = SettableFuture.create();
+                pending.add(f);
+                return f;
+            }
+        });
+        Assert.assertThat(pending.size(), Matchers.equalTo(3));
+        pending.get(0).setException(new IllegalStateException("boom"));
+        try {
+            sums.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertThat(e.getCause().getMessage(), Matchers.equalTo("boom"));
+        }
+        Assert.assertThat(pending.get(1).isCancelled(), Matchers.equalTo(true));
+        Assert.assertThat(pending.size(), Matchers.equalTo(3));
+    }
+
+    @Test
+    public void testPrimitiveFunctions() {
+        val odd = new IntPredicate1() {
+            @Override
+            public boolean apply(int i) {
+                return i % 2 == 1;
+            }
+        };
+        Assert.assertThat(Extensions.select(new int[] { 1, 2, 3, 4, 5 }, odd), Matchers.equalTo(new int[] { 1, 3, 5 }));
+        Assert.assertThat(Extensions.map(new long[] { 1, 2 }, new LongToDoubleFunction1() {
+            @Override
+            public double apply(long l) {
+                return l / 4.0;
+            }
+        }), Matchers.equalTo(new double[] { 0.25, 0.5 }));
+        val squares = Extensions.map(Extensions.select(Primitives.range(0, 10), odd), new IntToIntFunction1() {
+            @Override
+            public int apply(int i) {
+                return i * i;
+            }
+        });
+        Assert.assertThat(Extensions.intArray(squares), Matchers.equalTo(new int[] { 1, 9, 25, 49, 81 }));
+        Assert.assertThat(Extensions.intArray(squares), Matchers.equalTo(new int[] { 1, 9, 25, 49, 81 })); // re-iterable.
+        val lengths = Extensions.longArray(Arrays.asList("a", "bb", "ccc"), new ToLongFunction1<String>() {
+            @Override
+            public long apply(String s) {
+                return s.length();
+            }
+        });
+        Assert.assertThat(lengths, Matchers.equalTo(new long[] { 1, 2, 3 }));
+        final long[] sum = { 0 };
+        Extensions.each(lengths, new LongAction1() {
+            @Override
+            public void apply(long l) {
+                sum[0] += l;
+            }
+        });
+        Assert.assertThat(sum[0], Matchers.equalTo(6L));
+    }
+
+    @Test
+    public void testCombine() throws Exception {
+        SettableFuture<Integer> a = SettableFuture.create();
+        SettableFuture<String> b = SettableFuture.create();
+        SettableFuture<Long> c = SettableFuture.create();
+        val combined = Extensions.combine(a, b, c, new Function3<Integer, String, Long, String>() {
+            @Override
+            public String apply(Integer i, String s, Long l) {
+                return i + s + l;
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        a.set(1);
+        c.set(3L);
+        Assert.assertThat(combined.isDone(), Matchers.equalTo(false));
+        b.set("-");
+        Assert.assertThat(combined.get(), Matchers.equalTo("1-3"));
+
+        SettableFuture<Integer> d = SettableFuture.create();
+        val chained = Extensions.combine(a, d, new AsyncFunction2<Integer, Integer, Integer>() {
+            @Override
+            public ListenableFuture<Integer> apply(Integer x, Integer y) {
+                return Futures.immediateFuture(x + y);
+            }
+        }, MoreExecutors.sameThreadExecutor());
+        d.setException(new IllegalStateException("boom"));
+        try {
+            chained.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertThat(e.getCause().getMessage(), Matchers.equalTo("boom"));
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testNestedParallelMap() {
+        val rows = ContiguousSet.create(Range.closedOpen(0, 1000), DiscreteDomain.integers()).asList();
+        val sums = Extensions.parallelMap(rows, new Function1<Integer, Long>() { // nests deeper than the parallelism.
+            @Override
+            public Long apply(final Integer row) {
+                long sum = 0;
+                for (long l : Extensions.parallelMap(rows, new Function1<Integer, Long>() {
+                    @Override
+                    public Long apply(Integer column) {
+                        return (long)row * column;
+                    }
+                })) {
+                    sum += l;
+                }
+                return sum;
+            }
+        });
+        Assert.assertThat(sums.get(999), Matchers.equalTo(999L * 999 * 1000 / 2));
+    }
+
+    @Test
+    public void testFanOutFailsWithFunction() throws Exception {
+        val calls = new AtomicInteger();
+        val throwing = Extensions.fanOut(Arrays.asList(1, 2, 3, 4), 1, 2, new Function1<List<Integer>, ListenableFuture<Integer>>() {
+            @Override
+            public ListenableFuture<Integer> apply(List<Integer> batch) {
+                if (calls.incrementAndGet() == 3) {
+                    throw new IllegalStateException("boom");
+                }
+                return Futures.immediateFuture(batch.get(0));
+            }
+        });
+        try {
+            throwing.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertThat(e.getCause().getMessage(), Matchers.equalTo("boom"));
+        }
+        val nulls = Extensions.fanOut(Arrays.asList(1, 2), 1, 1, new Function1<List<Integer>, ListenableFuture<Integer>>() {
+            @Override
+            public ListenableFuture<Integer> apply(List<Integer> batch) {
+                return null;
+            }
+        });
+        try {
+            nulls.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertThat(e.getCause(), Matchers.instanceOf(NullPointerException.class));
+        }
+    }
 }
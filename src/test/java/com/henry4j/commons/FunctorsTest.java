@@ -0,0 +1,48 @@
+package com.henry4j.commons;
+
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import lombok.val;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.henry4j.commons.base.Functors;
+
+public class FunctorsTest {
+    @Test
+    public void testGatherQuietlyAtDeadline() throws Exception {
+        SettableFuture<Integer> late = SettableFuture.create();
+        SettableFuture<Integer> failing = SettableFuture.create();
+        val begins = System.currentTimeMillis();
+        val gathered = Functors.gatherQuietly(Arrays.<ListenableFuture<Integer>> asList(Futures.immediateFuture(1), late, failing), begins + 200);
+        failing.setException(new RuntimeException(new SocketTimeoutException()));
+        val g = gathered.get(5, TimeUnit.SECONDS);
+        Assert.assertThat(System.currentTimeMillis() - begins, Matchers.greaterThanOrEqualTo(190L));
+        Assert.assertThat(g.results(), Matchers.contains(1, null, null));
+        Assert.assertThat(g.timedOut(), Matchers.contains(1));
+        Assert.assertThat(g.failed().keySet(), Matchers.contains(2));
+        Assert.assertThat(g.isComplete(), Matchers.equalTo(false));
+        Assert.assertThat(late.isCancelled(), Matchers.equalTo(false));
+    }
+
+    @Test
+    public void testGatherQuietlyBeforeDeadline() throws Exception {
+        SettableFuture<String> a = SettableFuture.create();
+        SettableFuture<String> b = SettableFuture.create();
+        val gathered = Functors.gatherQuietly(Arrays.asList(a, b), System.currentTimeMillis() + 60000);
+        b.set("b");
+        Assert.assertThat(gathered.isDone(), Matchers.equalTo(false));
+        a.set("a");
+        val g = gathered.get(0, TimeUnit.MILLISECONDS); // completes with the last input, long before the deadline.
+        Assert.assertThat(g.results(), Matchers.contains("a", "b"));
+        Assert.assertThat(g.isComplete(), Matchers.equalTo(true));
+        Assert.assertThat(Functors.gatherQuietly(Arrays.<ListenableFuture<String>> asList(), 0).get().results().size(), Matchers.equalTo(0));
+    }
+}
@@ -0,0 +1,157 @@
+package com.henry4j.commons;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.val;
+
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.henry4j.commons.base.Functions.Function0;
+import com.henry4j.commons.base.Hedger;
+import com.henry4j.commons.base.Predicates.Predicate1;
+import com.henry4j.commons.base.Retrier;
+
+public class HedgerTest {
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testHedgeWinsAndCancelsLoser() throws Exception {
+        val hedger = Hedger.afterDelay(scheduler, 20);
+        final SettableFuture<String> slow = SettableFuture.create();
+        final AtomicInteger issued = new AtomicInteger();
+        val result = hedger.call(new Function0<ListenableFuture<String>>() {
+            @Override
+            public ListenableFuture<String> apply() {
+                return issued.getAndIncrement() == 0 ? slow : Futures.immediateFuture("backup");
+            }
+        });
+        Assert.assertThat(result.get(5, TimeUnit.SECONDS), Matchers.equalTo("backup"));
+        Thread.sleep(50); // as listeners of the result run after its waiters are released.
+        Assert.assertThat(slow.isCancelled(), Matchers.equalTo(true));
+        Assert.assertThat(hedger.hedges(), Matchers.equalTo(1L));
+        Assert.assertThat(hedger.hedgesWon(), Matchers.equalTo(1L));
+        val fast = hedger.call(new Function0<ListenableFuture<String>>() {
+            @Override
+            public ListenableFuture<String> apply() {
+                return Futures.immediateFuture("primary");
+            }
+        });
+        Assert.assertThat(fast.get(), Matchers.equalTo("primary"));
+        Thread.sleep(50);
+        Assert.assertThat(hedger.hedges(), Matchers.equalTo(1L)); // no hedge for a call that succeeded in time.
+        Assert.assertThat(hedger.calls(), Matchers.equalTo(2L));
+    }
+
+    @Test
+    public void testBackUpFastFailure() throws Exception {
+        val hedger = Hedger.afterDelay(scheduler, 60000);
+        final AtomicInteger issued = new AtomicInteger();
+        val result = hedger.call(new Function0<ListenableFuture<String>>() {
+            @Override
+            public ListenableFuture<String> apply() {
+                return issued.getAndIncrement() == 0 ? Futures.<String> immediateFailedFuture(new IOException()) : Futures.immediateFuture("backup");
+            }
+        });
+        Assert.assertThat(result.get(5, TimeUnit.SECONDS), Matchers.equalTo("backup")); // without waiting out the delay.
+        Assert.assertThat(hedger.hedges(), Matchers.equalTo(1L));
+
+        val failing = hedger.call(new Function0<ListenableFuture<String>>() {
+            @Override
+            public ListenableFuture<String> apply() {
+                return Futures.immediateFailedFuture(new IOException("" + issued.getAndIncrement()));
+            }
+        });
+        try {
+            failing.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertThat(e.getCause().getMessage(), Matchers.equalTo("3")); // fails with the backup.
+        }
+        Assert.assertThat(hedger.hedges(), Matchers.equalTo(2L));
+    }
+
+    @Test
+    public void testPercentileDelay() throws Exception {
+        val hedger = Hedger.afterPercentile(scheduler, 50, 1000);
+        for (int i = 0; i < 64; i++) {
+            hedger.call(new Function0<ListenableFuture<Integer>>() {
+                @Override
+                public ListenableFuture<Integer> apply() {
+                    return Futures.immediateFuture(0);
+                }
+            }).get();
+        }
+        Assert.assertThat(hedger.delayMillis(), Matchers.lessThan(1000L));
+        Assert.assertThat(hedger.hedges(), Matchers.equalTo(0L));
+    }
+
+    @Test
+    public void testRetrier() throws Exception {
+        val retrier = new Retrier(scheduler, 4, 1, 10);
+        final AtomicInteger attempts = new AtomicInteger();
+        val result = retrier.call(new Function0<ListenableFuture<Integer>>() {
+            @Override
+            public ListenableFuture<Integer> apply() {
+                return attempts.incrementAndGet() < 3 ? Futures.<Integer> immediateFailedFuture(new IOException()) : Futures.immediateFuture(attempts.get());
+            }
+        });
+        Assert.assertThat(result.get(5, TimeUnit.SECONDS), Matchers.equalTo(3));
+        Assert.assertThat(retrier.retries(), Matchers.equalTo(2L));
+
+        val notRetryable = new Retrier(scheduler, 4, 1, 10, new Predicate1<Throwable>() {
+            @Override
+            public Boolean apply(Throwable t) {
+                return t instanceof IOException;
+            }
+        });
+        try {
+            notRetryable.call(new Function0<ListenableFuture<Integer>>() {
+                @Override
+                public ListenableFuture<Integer> apply() {
+                    throw new IllegalStateException("boom");
+                }
+            }).get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertThat(e.getCause().getMessage(), Matchers.equalTo("boom"));
+        }
+        Assert.assertThat(notRetryable.retries(), Matchers.equalTo(0L));
+    }
+
+    @Test
+    public void testRetrierFailsOnShutDownScheduler() throws Exception {
+        val shutDown = Executors.newSingleThreadScheduledExecutor();
+        shutDown.shutdown();
+        val retrier = new Retrier(shutDown, 4, 1, 10);
+        try {
+            retrier.call(new Function0<ListenableFuture<Integer>>() {
+                @Override
+                public ListenableFuture<Integer> apply() {
+                    return Futures.immediateFailedFuture(new IOException("boom"));
+                }
+            }).get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertThat(e.getCause() instanceof RejectedExecutionException, Matchers.equalTo(true));
+            Assert.assertThat(e.getCause().getSuppressed()[0].getMessage(), Matchers.equalTo("boom"));
+        }
+        Assert.assertThat(retrier.retries(), Matchers.equalTo(0L));
+    }
+}
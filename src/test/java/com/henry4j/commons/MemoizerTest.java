@@ -0,0 +1,115 @@
+package com.henry4j.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.val;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.henry4j.commons.base.Functions.Function1;
+import com.henry4j.commons.base.Functions.Function2;
+import com.henry4j.commons.base.Functions.Function4;
+import com.henry4j.commons.base.Memoizer;
+
+public class MemoizerTest {
+    @Test
+    public void testMemoizeByArguments() {
+        final AtomicInteger calls = new AtomicInteger();
+        val add = Memoizer.memoize(new Function2<Integer, Integer, Integer>() {
+            @Override
+            public Integer apply(Integer a, Integer b) {
+                calls.incrementAndGet();
+                return a + b;
+            }
+        }, 2);
+        Assert.assertThat(add.apply(1, 2), Matchers.equalTo(3));
+        Assert.assertThat(add.apply(1, 2), Matchers.equalTo(3));
+        Assert.assertThat(add.apply(2, 1), Matchers.equalTo(3));
+        Assert.assertThat(calls.get(), Matchers.equalTo(2));
+        add.apply(3, 3); // evicts (1, 2), the least recently used.
+        add.apply(1, 2);
+        Assert.assertThat(calls.get(), Matchers.equalTo(4));
+        Assert.assertThat(add.stats().hits(), Matchers.equalTo(1L));
+        Assert.assertThat(add.stats().misses(), Matchers.equalTo(4L));
+        Assert.assertThat(add.stats().evictions(), Matchers.equalTo(2L));
+
+        val concat = Memoizer.memoize(new Function4<String, String, String, String, String>() {
+            @Override
+            public String apply(String a, String b, String c, String d) {
+                calls.incrementAndGet();
+                return null == d ? null : a + b + c + d;
+            }
+        }, 10);
+        Assert.assertThat(concat.apply("a", "b", "c", null), Matchers.nullValue());
+        Assert.assertThat(concat.apply("a", "b", "c", null), Matchers.nullValue());
+        Assert.assertThat(concat.stats().hits(), Matchers.equalTo(1L)); // memoizes a null result.
+    }
+
+    @Test
+    public void testTtl() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        val square = Memoizer.memoize(new Function1<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer i) {
+                calls.incrementAndGet();
+                return i * i;
+            }
+        }, 10, 50);
+        square.apply(3);
+        square.apply(3);
+        Assert.assertThat(calls.get(), Matchers.equalTo(1));
+        Thread.sleep(80);
+        square.apply(3);
+        Assert.assertThat(calls.get(), Matchers.equalTo(2));
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Function1<String, Integer> slow = Memoizer.memoize(new Function1<String, Integer>() {
+            @Override
+            public Integer apply(String s) {
+                calls.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return s.length();
+            }
+        }, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        return slow.apply("four");
+                    }
+                }));
+            }
+            started.await();
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<Integer> f : futures) {
+                Assert.assertThat(f.get(), Matchers.equalTo(4));
+            }
+            Assert.assertThat(calls.get(), Matchers.equalTo(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
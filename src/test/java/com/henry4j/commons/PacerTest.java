@@ -0,0 +1,81 @@
+package com.henry4j.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import lombok.val;
+
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Range;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.henry4j.commons.base.Actions.Action1;
+import com.henry4j.commons.base.Pacer;
+
+public class PacerTest {
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testList() throws Exception {
+        val ints = ContiguousSet.create(Range.closedOpen(0, 25), DiscreteDomain.integers());
+        val begins = System.currentTimeMillis();
+        val list = new Pacer(scheduler, 100, 5).list(ints).get();
+        val ms = System.currentTimeMillis() - begins;
+        Assert.assertThat(list, Matchers.equalTo((List<Integer>)ints.asList()));
+        Assert.assertThat(ms, Matchers.greaterThanOrEqualTo(190L)); // 5 at once, and 20 more at 10ms each.
+        Assert.assertThat(ms, Matchers.lessThan(1000L));
+    }
+
+    @Test
+    public void testManyStreams() throws Exception {
+        val pacer = new Pacer(scheduler, 50, 1);
+        val ints = ContiguousSet.create(Range.closedOpen(0, 5), DiscreteDomain.integers());
+        val futures = new ArrayList<ListenableFuture<List<Integer>>>();
+        val begins = System.currentTimeMillis();
+        for (int i = 0; i < 2000; i++) {
+            futures.add(pacer.list(ints));
+        }
+        for (List<Integer> list : Futures.allAsList(futures).get()) {
+            Assert.assertThat(list.size(), Matchers.equalTo(5));
+        }
+        val ms = System.currentTimeMillis() - begins;
+        Assert.assertThat(ms, Matchers.greaterThanOrEqualTo(80L));
+        Assert.assertThat(ms, Matchers.lessThan(3000L)); // on 2 threads, instead of 2000 sleeping ones.
+    }
+
+    @Test
+    public void testEmitFailsWithSink() throws Exception {
+        val ints = ContiguousSet.create(Range.closedOpen(0, 10), DiscreteDomain.integers());
+        val emitted = new ArrayList<Integer>();
+        val done = new Pacer(scheduler, 1000, 1).emit(ints, new Action1<Integer>() {
+            @Override
+            public void apply(Integer i) {
+                if (i == 3) {
+                    throw new IllegalStateException("boom");
+                }
+                emitted.add(i);
+            }
+        });
+        try {
+            done.get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertThat(e.getCause().getMessage(), Matchers.equalTo("boom"));
+        }
+        Assert.assertThat(emitted, Matchers.contains(0, 1, 2));
+    }
+}
@@ -0,0 +1,75 @@
+package com.henry4j.commons;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import lombok.val;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.henry4j.commons.collect.LongDoublePairList;
+import com.henry4j.commons.collect.Pair;
+import com.henry4j.commons.collect.PairList;
+import com.henry4j.commons.collect.Triple;
+import com.henry4j.commons.collect.TripleList;
+
+public class PairListTest {
+    @Test
+    public void testPairList() {
+        val pairs = ImmutableList.of(Pair.of("a", 1), Pair.of("b", 2), Pair.of("c", 3));
+        val list = PairList.from(pairs);
+        assertThat(ImmutableList.copyOf(list), equalTo(pairs));
+        list.set(1, "B", 20).add("d", 4);
+        val cursor = list.cursor();
+        val sb = new StringBuilder();
+        int sum = 0;
+        while (cursor.next()) {
+            sb.append(cursor.first());
+            sum += cursor.second();
+        }
+        assertThat(cursor.next(), equalTo(false));
+        assertThat(sb.toString(), equalTo("aBcd"));
+        assertThat(sum, equalTo(28));
+        assertThat(list.get(3), equalTo(Pair.of("d", 4)));
+        try {
+            cursor.first(); // past the end, rather than a stale slot.
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+        try {
+            list.cursor().second(); // before next.
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+    }
+
+    @Test
+    public void testTripleList() {
+        val triples = ImmutableList.of(Triple.of("a", 1, 1L), Triple.of("b", 2, 2L));
+        val list = TripleList.from(triples);
+        assertThat(ImmutableList.copyOf(list), equalTo(triples));
+        assertThat(list.third(1), equalTo(2L));
+    }
+
+    @Test
+    public void testLongDoublePairList() {
+        val list = new LongDoublePairList(1);
+        for (int i = 0; i < 100; i++) {
+            list.add(i, i / 2.0);
+        }
+        double sum = 0;
+        for (LongDoublePairList.Cursor cursor = list.cursor(); cursor.next(); ) {
+            sum += cursor.first() * cursor.second();
+        }
+        assertThat(sum, equalTo(164175.0));
+        assertThat(LongDoublePairList.from(list).get(99), equalTo(Pair.of(99L, 49.5)));
+        assertThat(list.firsts().length, equalTo(100));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        new PairList<String, Integer>(4).add("a", 1).first(1);
+    }
+}
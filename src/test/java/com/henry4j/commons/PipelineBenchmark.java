@@ -0,0 +1,74 @@
+package com.henry4j.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.henry4j.commons.base.Actions.Action1;
+import com.henry4j.commons.base.Extensions;
+import com.henry4j.commons.base.Functions.Function1;
+import com.henry4j.commons.base.Pipeline;
+import com.henry4j.commons.base.Predicates.Predicate1;
+
+// Compares a chain of 3 maps and 2 selects iterated repeatedly, over Extensions' lazy views and over a Pipeline.
+// Run: java -cp target/classes:target/test-classes:... com.henry4j.commons.PipelineBenchmark [size]
+public class PipelineBenchmark {
+    private static final Function1<Integer, Integer> INCREMENT = new Function1<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer i) {
+            return i + 1;
+        }
+    };
+    private static final Predicate1<Integer> EVEN = new Predicate1<Integer>() {
+        @Override
+        public Boolean apply(Integer i) {
+            return i % 2 == 0;
+        }
+    };
+    private static final Predicate1<Integer> POSITIVE = new Predicate1<Integer>() {
+        @Override
+        public Boolean apply(Integer i) {
+            return i > 0;
+        }
+    };
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        List<Integer> ints = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+            ints.add(i);
+        }
+        for (int round = 0; round < 3; round++) { // the first round warms up the JIT.
+            Iterable<Integer> views = Extensions.map(Extensions.select(Extensions.map(Extensions.select(Extensions.map(ints, INCREMENT), POSITIVE), INCREMENT), EVEN), INCREMENT);
+            Pipeline<Integer> pipeline = Pipeline.from(ints).map(INCREMENT).select(POSITIVE).map(INCREMENT).select(EVEN).map(INCREMENT);
+            long begins = System.nanoTime();
+            long sum = 0;
+            for (int i = 0; i < 5; i++) {
+                for (int e : views) {
+                    sum += e;
+                }
+            }
+            long viewNanos = System.nanoTime() - begins;
+            begins = System.nanoTime();
+            final long[] total = { 0 };
+            for (int i = 0; i < 5; i++) {
+                pipeline.each(new Action1<Integer>() {
+                    @Override
+                    public void apply(Integer e) {
+                        total[0] += e;
+                    }
+                });
+            }
+            sum -= total[0];
+            long pipelineNanos = System.nanoTime() - begins;
+            Pipeline<Integer> memoized = pipeline.memoize();
+            begins = System.nanoTime();
+            for (int i = 0; i < 5; i++) {
+                for (int e : memoized) {
+                    sum += e;
+                }
+            }
+            long memoizedNanos = System.nanoTime() - begins;
+            System.out.printf("views %,d ms, pipeline %,d ms, memoized %,d ms (%d)%n", viewNanos / 1000000, pipelineNanos / 1000000, memoizedNanos / 1000000, sum);
+        }
+    }
+}
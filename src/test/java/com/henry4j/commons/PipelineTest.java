@@ -0,0 +1,68 @@
+package com.henry4j.commons;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.val;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.henry4j.commons.base.Functions.Function1;
+import com.henry4j.commons.base.Pipeline;
+import com.henry4j.commons.base.Predicates.Predicate1;
+
+public class PipelineTest {
+    private static final Predicate1<Integer> ODD = new Predicate1<Integer>() {
+        @Override
+        public Boolean apply(Integer i) {
+            return i % 2 == 1;
+        }
+    };
+
+    @Test
+    public void testFusedStages() {
+        val applied = new AtomicInteger();
+        val squares = Pipeline.from(Arrays.asList(1, 2, 3, 4, 5, 6, 7)).select(ODD).map(new Function1<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer i) {
+                applied.incrementAndGet();
+                return i * i;
+            }
+        });
+        Assert.assertThat(applied.get(), Matchers.equalTo(0)); // lazy until a terminal operation.
+        Assert.assertThat(squares.toList(), Matchers.contains(1, 9, 25, 49));
+        Assert.assertThat(squares.count(), Matchers.equalTo(4));
+        Assert.assertThat(applied.get(), Matchers.equalTo(8)); // re-runs without memoize.
+        List<List<Integer>> partitions = squares.partition(3).toList();
+        Assert.assertThat(partitions.size(), Matchers.equalTo(2));
+        Assert.assertThat(partitions.get(1), Matchers.contains(49));
+        Assert.assertThat(squares.limit(3).partition(2).toList().get(1), Matchers.contains(25)); // flushes a partial.
+    }
+
+    @Test
+    public void testShortCircuitsAndMemoizes() {
+        val applied = new AtomicInteger();
+        val ints = Pipeline.from(Arrays.asList(2, 4, 5, 6, 8)).map(new Function1<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer i) {
+                applied.incrementAndGet();
+                return i;
+            }
+        });
+        Assert.assertThat(ints.find(ODD), Matchers.equalTo(5));
+        Assert.assertThat(applied.getAndSet(0), Matchers.equalTo(3));
+        Assert.assertThat(ints.any(ODD), Matchers.equalTo(true));
+        Assert.assertThat(ints.all(ODD), Matchers.equalTo(false));
+        Assert.assertThat(ints.limit(2).any(ODD), Matchers.equalTo(false));
+        Assert.assertThat(ints.first(), Matchers.equalTo(2));
+        applied.set(0);
+        val memoized = ints.memoize();
+        Assert.assertThat(memoized.toList(), Matchers.contains(2, 4, 5, 6, 8));
+        Assert.assertThat(memoized.count(), Matchers.equalTo(5));
+        Assert.assertThat(memoized.select(ODD).first(), Matchers.equalTo(5));
+        Assert.assertThat(applied.get(), Matchers.equalTo(5)); // computed once.
+    }
+}
@@ -0,0 +1,76 @@
+package com.henry4j.commons;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import lombok.val;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.henry4j.commons.base.PojoMapper;
+
+public class PojoMapperTest {
+    private PojoMapper pojoMapper = new PojoMapper();
+
+    @Test
+    public void testFeederInChunks() {
+        val feeder = pojoMapper.feeder(JsonNode.class);
+        val bytes = "{\"a\": [1, {\"b\": \"}]\\\"\"}]} [2, 3]\n\"x{\" 42 true".getBytes(StandardCharsets.UTF_8);
+        for (int size = 1; size <= bytes.length; size++) {
+            List<String> values = new ArrayList<String>();
+            for (int i = 0; i < bytes.length; i += size) {
+                for (JsonNode node : feeder.feed(ByteBuffer.wrap(bytes, i, Math.min(size, bytes.length - i)))) {
+                    values.add(node.toString());
+                }
+            }
+            for (JsonNode node : feeder.finish()) {
+                values.add(node.toString());
+            }
+            assertThat(values, equalTo((List<String>)ImmutableList.of(
+                    "{\"a\":[1,{\"b\":\"}]\\\"\"}]}", "[2,3]", "\"x{\"", "42", "true")));
+        }
+    }
+
+    @Test
+    public void testFeederYieldsAsSoonAsComplete() {
+        val feeder = pojoMapper.feeder(new TypeReference<Map<String, Integer>>() {});
+        assertThat(feeder.feed(ByteBuffer.wrap("{\"a\": 1".getBytes(StandardCharsets.UTF_8))).size(), equalTo(0));
+        assertThat(feeder.pending(), equalTo(7));
+        assertThat(feeder.feed(ByteBuffer.wrap("} {\"b\"".getBytes(StandardCharsets.UTF_8))),
+                equalTo(ImmutableList.<Map<String, Integer>> of(ImmutableMap.of("a", 1))));
+        assertThat(feeder.pending(), equalTo(4));
+    }
+
+    @Test
+    public void testFeederSkipsMalformed() {
+        val feeder = pojoMapper.feeder(new TypeReference<Map<String, Integer>>() {});
+        try {
+            feeder.feed(ByteBuffer.wrap("{\"a\": 1} {\"b\": } {\"c\": 3}".getBytes(StandardCharsets.UTF_8)));
+            fail();
+        } catch (Exception e) {
+            assertThat(e instanceof JsonParseException, equalTo(true));
+        }
+        assertThat(feeder.feed(ByteBuffer.allocate(0)),
+                equalTo(ImmutableList.<Map<String, Integer>> of(ImmutableMap.of("a", 1), ImmutableMap.of("c", 3))));
+        assertThat(feeder.pending(), equalTo(0));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void testFeederFinishesIncomplete() {
+        val feeder = pojoMapper.feeder(Object.class);
+        feeder.feed(ByteBuffer.wrap("[1, 2".getBytes(StandardCharsets.UTF_8)));
+        feeder.finish();
+    }
+}
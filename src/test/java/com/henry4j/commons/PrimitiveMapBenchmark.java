@@ -0,0 +1,104 @@
+package com.henry4j.commons;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.common.collect.ImmutableMap;
+import com.henry4j.commons.collect.IntIntMap;
+import com.henry4j.commons.collect.LongIntMap;
+
+// Compares the footprint and lookup latency of id-lookup tables of long keys and int values: HashMap, ImmutableMap,
+// and mutable and frozen LongIntMaps; and an IntIntMap of the ids truncated to int keys. Footprints are deltas of used heap after GC, so run it with a quiet heap.
+// Run: java -Xmx4g -cp target/classes:target/test-classes:... com.henry4j.commons.PrimitiveMapBenchmark [size]
+public class PrimitiveMapBenchmark {
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        long[] ids = new long[size];
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            ids[i] = random.nextLong();
+        }
+        long[] probes = new long[10 * size];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = random.nextInt(4) == 0 ? random.nextLong() : ids[random.nextInt(size)]; // 1/4 misses.
+        }
+        for (int round = 0; round < 3; round++) { // the first round warms up the JIT.
+            long before = usedBytes();
+            Map<Long, Integer> hashMap = new HashMap<Long, Integer>();
+            for (int i = 0; i < size; i++) {
+                hashMap.put(ids[i], i);
+            }
+            long hashMapBytes = usedBytes() - before;
+            before = usedBytes();
+            ImmutableMap.Builder<Long, Integer> builder = ImmutableMap.builder();
+            for (int i = 0; i < size; i++) {
+                builder.put(ids[i], i);
+            }
+            Map<Long, Integer> immutableMap = builder.build();
+            builder = null;
+            long immutableMapBytes = usedBytes() - before;
+            before = usedBytes();
+            LongIntMap mutable = new LongIntMap();
+            for (int i = 0; i < size; i++) {
+                mutable.put(ids[i], i);
+            }
+            long mutableBytes = usedBytes() - before;
+            before = usedBytes();
+            LongIntMap frozen = mutable.freeze();
+            long frozenBytes = usedBytes() - before;
+            before = usedBytes();
+            IntIntMap ints = new IntIntMap();
+            for (int i = 0; i < size; i++) {
+                ints.put((int)ids[i], i);
+            }
+            long intsBytes = usedBytes() - before;
+
+            report("HashMap", hashMapBytes, size, lookup(hashMap, probes));
+            report("ImmutableMap", immutableMapBytes, size, lookup(immutableMap, probes));
+            report("LongIntMap", mutableBytes, size, lookup(mutable, probes));
+            report("frozen", frozenBytes, size, lookup(frozen, probes));
+            report("IntIntMap", intsBytes, ints.size(), lookup(ints, probes));
+        }
+    }
+
+    private static long lookup(Map<Long, Integer> map, long[] probes) {
+        long begins = System.nanoTime();
+        long sum = 0;
+        for (long probe : probes) {
+            Integer value = map.get(probe);
+            sum += null != value ? value : -1;
+        }
+        return (System.nanoTime() - begins) / probes.length + (sum == 42 ? 1 : 0);
+    }
+
+    private static long lookup(LongIntMap map, long[] probes) {
+        long begins = System.nanoTime();
+        long sum = 0;
+        for (long probe : probes) {
+            sum += map.get(probe, -1);
+        }
+        return (System.nanoTime() - begins) / probes.length + (sum == 42 ? 1 : 0);
+    }
+
+    private static long lookup(IntIntMap map, long[] probes) {
+        long begins = System.nanoTime();
+        long sum = 0;
+        for (long probe : probes) {
+            sum += map.get((int)probe, -1);
+        }
+        return (System.nanoTime() - begins) / probes.length + (sum == 42 ? 1 : 0);
+    }
+
+    private static void report(String name, long bytes, int size, long nanosPerLookup) {
+        System.out.printf("%-12s %,6.1f bytes/entry, %,d ns/lookup%n", name, (double)bytes / size, nanosPerLookup);
+    }
+
+    private static long usedBytes() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
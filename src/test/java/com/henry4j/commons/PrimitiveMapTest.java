@@ -0,0 +1,97 @@
+package com.henry4j.commons;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import lombok.val;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.henry4j.commons.collect.IntIntMap;
+import com.henry4j.commons.collect.LongIntMap;
+import com.henry4j.commons.collect.LongObjectMap;
+
+public class PrimitiveMapTest {
+    @Test
+    public void testAgainstHashMap() {
+        val random = new Random(42);
+        val map = new LongIntMap();
+        val expected = new HashMap<Long, Integer>();
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(5000) * 1024L; // collides in low bits.
+            if (random.nextInt(3) == 0) {
+                Assert.assertThat(map.remove(key), Matchers.equalTo(null != expected.remove(key)));
+            } else {
+                int value = random.nextInt();
+                map.put(key, value);
+                expected.put(key, value);
+            }
+            Assert.assertThat(map.size(), Matchers.equalTo(expected.size()));
+        }
+        for (long key = 0; key < 5000 * 1024L; key += 1024) {
+            Assert.assertThat(map.containsKey(key), Matchers.equalTo(expected.containsKey(key)));
+            Assert.assertThat(map.get(key, -1), Matchers.equalTo(expected.containsKey(key) ? expected.get(key) : -1));
+        }
+        val frozen = map.freeze();
+        Assert.assertThat(frozen.size(), Matchers.equalTo(expected.size()));
+        int count = 0;
+        for (LongIntMap.Cursor cursor = frozen.cursor(); cursor.next(); count++) {
+            Assert.assertThat(cursor.value(), Matchers.equalTo(expected.get(cursor.key())));
+        }
+        Assert.assertThat(count, Matchers.equalTo(expected.size()));
+    }
+
+    @Test
+    public void testFrozen() {
+        val ints = IntIntMap.hash(1, 10, 2, 20, -3, 30);
+        Assert.assertThat(ints.isFrozen(), Matchers.equalTo(true));
+        Assert.assertThat(ints.get(-3, 0), Matchers.equalTo(30));
+        Assert.assertThat(ints.get(4, 0), Matchers.equalTo(0));
+        Assert.assertThat(ints.freeze(), Matchers.sameInstance(ints));
+        try {
+            ints.put(4, 40);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        val names = LongObjectMap.hash(1L, "one", 2L, null);
+        Assert.assertThat(names.get(1L), Matchers.equalTo("one"));
+        Assert.assertThat(names.containsKey(2L), Matchers.equalTo(true));
+        Assert.assertThat(names.get(2L), Matchers.nullValue());
+        Assert.assertThat(LongIntMap.hash().size(), Matchers.equalTo(0));
+        Assert.assertThat(LongIntMap.hash(7L, 1).toString(), Matchers.equalTo("{7=1}"));
+        val mutable = new LongObjectMap<String>().put(3L, "three");
+        mutable.clear();
+        Assert.assertThat(mutable.isEmpty(), Matchers.equalTo(true));
+    }
+
+    @Test
+    public void testCursorOffEntries() {
+        val map = IntIntMap.hash(1, 10);
+        val cursor = map.cursor();
+        try {
+            cursor.key(); // before next.
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+        Assert.assertThat(cursor.next(), Matchers.equalTo(true));
+        Assert.assertThat(cursor.value(), Matchers.equalTo(10));
+        Assert.assertThat(cursor.next(), Matchers.equalTo(false));
+        Assert.assertThat(cursor.next(), Matchers.equalTo(false));
+        try {
+            cursor.value(); // past the end, rather than the last slot.
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+        val names = new LongObjectMap<String>().put(1L, "one");
+        val other = names.cursor();
+        Assert.assertThat(other.next(), Matchers.equalTo(true));
+        names.remove(1L);
+        try {
+            other.value(); // on a slot no longer used.
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+        }
+    }
+}
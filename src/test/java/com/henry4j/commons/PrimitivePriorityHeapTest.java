@@ -0,0 +1,97 @@
+package com.henry4j.commons;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import lombok.val;
+
+import org.junit.Test;
+
+import com.google.common.collect.Ordering;
+import com.google.common.io.Files;
+import com.henry4j.commons.collect.IntLongPriorityHeap;
+import com.henry4j.commons.collect.LongDoublePriorityHeap;
+import com.henry4j.commons.collect.OffHeapLongDoublePriorityHeap;
+import com.henry4j.commons.collect.PriorityHeap;
+
+public class PrimitivePriorityHeapTest {
+    @Test
+    public void testLongDouble() {
+        val ph = new LongDoublePriorityHeap(4, true);
+        ph.offer(4, 10).offer(5, 30).offer(8, 50)
+                .offer(6, 20).offer(2, 40).offer(3, 60)
+                .offer(1, 80).offer(9, 90).offer(7, 70);
+        ph.offer(1, 92).offer(2, 98).offer(8, 120);
+        ph.offer(9, 45).offer(3, 25);
+        assertThat(ph.peekKey(), equalTo(8L));
+        assertThat(ph.peekPriority(), equalTo(120.0));
+        long[] keys = { 8, 2, 1, 7, 9, 5, 3, 6, 4 };
+        for (long key : keys) {
+            assertThat(ph.poll(), equalTo(key));
+        }
+        assertThat(ph.isEmpty(), equalTo(true));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPollEmpty() {
+        new IntLongPriorityHeap().poll();
+    }
+
+    @Test
+    public void testIntLongAgainstPriorityHeap() {
+        val random = new Random(42);
+        val expected = new PriorityHeap<Integer, Long>(Ordering.<Long> natural());
+        val actual = new IntLongPriorityHeap();
+        for (int i = 0; i < 100000; i++) {
+            if (random.nextInt(3) > 0) {
+                int key = random.nextInt(5000);
+                long priority = random.nextInt(1000) * 5000L + key; // ties broken by key to make the order total.
+                expected.offer(key, priority);
+                actual.offer(key, priority);
+            } else if (expected.size() > 0) {
+                assertThat(actual.peekPriority(), equalTo(expected.peek().second()));
+                assertThat(actual.poll(), equalTo(expected.poll().first()));
+            }
+            assertThat(actual.size(), equalTo(expected.size()));
+        }
+    }
+
+    @Test
+    public void testOffHeapAgainstPriorityHeap() throws IOException {
+        val directory = Files.createTempDir();
+        try {
+            for (val actual : new OffHeapLongDoublePriorityHeap[] {
+                    new OffHeapLongDoublePriorityHeap(5000, true), new OffHeapLongDoublePriorityHeap(5000, true, directory) }) {
+                val random = new Random(42);
+                val expected = new PriorityHeap<Long, Double>(Ordering.<Double> natural().reverse());
+                for (int i = 0; i < 100000; i++) {
+                    if (random.nextInt(3) > 0) {
+                        long key = random.nextInt(5000) * 0x100000000L; // collides in the low bits.
+                        double priority = random.nextDouble();
+                        expected.offer(key, priority);
+                        actual.offer(key, priority);
+                    } else if (expected.size() > 0) {
+                        assertThat(actual.peekPriority(), equalTo(expected.peek().second()));
+                        assertThat(actual.poll(), equalTo(expected.poll().first()));
+                    }
+                    assertThat(actual.size(), equalTo((long)expected.size()));
+                }
+                actual.close();
+            }
+        } finally {
+            for (val f : directory.listFiles()) {
+                f.delete();
+            }
+            directory.delete();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOffHeapFull() {
+        new OffHeapLongDoublePriorityHeap(2, false).offer(1, 1).offer(2, 2).offer(1, 0).offer(3, 3);
+    }
+}
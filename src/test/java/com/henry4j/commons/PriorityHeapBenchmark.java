@@ -0,0 +1,159 @@
+package com.henry4j.commons;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import com.google.common.collect.Ordering;
+import com.henry4j.commons.collect.Pair;
+import com.henry4j.commons.collect.PriorityHeap;
+
+// Compares d-ary PriorityHeap engines against the former recursive binary heap, and java.util.PriorityQueue.
+// PriorityQueue cannot update priorities, so it is offered every (key, priority) and drained without dedup.
+// Run: java -cp target/classes:target/test-classes:... com.henry4j.commons.PriorityHeapBenchmark [n]
+public class PriorityHeapBenchmark {
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int[] keys = new int[n];
+        int[] priorities = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(n / 2); // about 1 in 3 offers updates an existing key.
+            priorities[i] = random.nextInt();
+        }
+        for (int round = 0; round < 5; round++) { // the first rounds warm up the JIT.
+            System.out.printf("round %d: %s%n", round, run(keys, priorities));
+        }
+    }
+
+    private static String run(int[] keys, int[] priorities) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("legacy=%dms", time(new LegacyPriorityHeap<Integer, Integer>(Ordering.<Integer> natural()), keys, priorities)));
+        for (int arity : new int[] { 2, 4, 8 }) {
+            PriorityHeap<Integer, Integer> ph = new PriorityHeap<Integer, Integer>(arity, Ordering.<Integer> natural());
+            long begins = System.nanoTime();
+            for (int i = 0; i < keys.length; i++) {
+                ph.offer(keys[i], priorities[i]);
+            }
+            while (ph.poll() != null) {
+            }
+            sb.append(String.format(", %d-ary=%dms", arity, (System.nanoTime() - begins) / 1000000));
+        }
+        List<Pair<Integer, Integer>> prioritized = new ArrayList<Pair<Integer, Integer>>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            prioritized.add(Pair.of(keys[i], priorities[i]));
+        }
+        long heapifies = System.nanoTime();
+        new PriorityHeap<Integer, Integer>(Ordering.<Integer> natural(), prioritized);
+        sb.append(String.format(", heapify-only=%dms", (System.nanoTime() - heapifies) / 1000000));
+        PriorityQueue<Pair<Integer, Integer>> pq = new PriorityQueue<Pair<Integer, Integer>>(16, Ordering.<Integer> natural().onResultOf(
+                new com.google.common.base.Function<Pair<Integer, Integer>, Integer>() {
+                    @Override
+                    public Integer apply(Pair<Integer, Integer> pair) {
+                        return pair.second();
+                    }
+                }));
+        long begins = System.nanoTime();
+        for (int i = 0; i < keys.length; i++) {
+            pq.offer(Pair.of(keys[i], priorities[i]));
+        }
+        while (pq.poll() != null) {
+        }
+        sb.append(String.format(", PriorityQueue=%dms", (System.nanoTime() - begins) / 1000000));
+        return sb.toString();
+    }
+
+    private static long time(LegacyPriorityHeap<Integer, Integer> ph, int[] keys, int[] priorities) {
+        long begins = System.nanoTime();
+        for (int i = 0; i < keys.length; i++) {
+            ph.offer(keys[i], priorities[i]);
+        }
+        while (ph.poll() != null) {
+        }
+        return (System.nanoTime() - begins) / 1000000;
+    }
+
+    // The recursive List<Pair>-backed binary heap that PriorityHeap used to be, kept as the baseline.
+    static class LegacyPriorityHeap<K, V extends Comparable<V>> {
+        private final List<Pair<K, V>> list = new ArrayList<Pair<K, V>>();
+        private final Map<K, Integer> map = new HashMap<K, Integer>();
+        private final Ordering<V> ordering;
+
+        LegacyPriorityHeap(Ordering<V> ordering) {
+            this.ordering = ordering;
+        }
+
+        LegacyPriorityHeap<K, V> offer(K element, V priority) {
+            Pair<K, V> prioritized = Pair.of(element, priority);
+            if (map.containsKey(element)) {
+                int n = map.get(element);
+                list.set(n, prioritized);
+                if (n == bubbleUp(n)) {
+                    bubbleDown(n);
+                }
+            } else {
+                list.add(prioritized);
+                bubbleUp(list.size() - 1);
+            }
+            return this;
+        }
+
+        Pair<K, V> poll() {
+            if (!list.isEmpty()) {
+                Pair<K, V> poll = list.get(0);
+                list.set(0, list.get(list.size() - 1));
+                list.remove(list.size() - 1);
+                map.remove(poll.first());
+                if (!list.isEmpty()) {
+                    bubbleDown(0);
+                }
+                return poll;
+            } else {
+                return null;
+            }
+        }
+
+        int bubbleUp(int n) {
+            int p = (n - 1)/2;
+            if (n > 0 && compare(p, n) > 0) {
+                swap(p, n);
+                map.put(list.get(n).first(), n);
+                return bubbleUp(p);
+            } else {
+                map.put(list.get(n).first(), n);
+                return n;
+            }
+        }
+
+        int bubbleDown(int n) {
+            int c = n;
+            if (2*n + 1 < list.size() && compare(c, 2*n + 1) > 0) {
+                c = 2*n + 1;
+            }
+            if (2*n + 2 < list.size() && compare(c, 2*n + 2) > 0) {
+                c = 2*n + 2;
+            }
+            if (c != n) {
+                swap(c, n);
+                map.put(list.get(n).first(), n);
+                return bubbleDown(c);
+            } else {
+                map.put(list.get(n).first(), n);
+                return n;
+            }
+        }
+
+        private int compare(int i, int j) {
+            return ordering.compare(list.get(i).second(), list.get(j).second());
+        }
+
+        private void swap(int i, int j) {
+            Pair<K, V> e = list.get(i);
+            list.set(i, list.get(j));
+            list.set(j, e);
+        }
+    }
+}
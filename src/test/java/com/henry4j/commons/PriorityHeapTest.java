@@ -1,12 +1,22 @@
 package com.henry4j.commons;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
 import lombok.val;
 
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Ordering;
+import com.henry4j.commons.base.Actions.Action1;
 import com.henry4j.commons.collect.Pair;
 import com.henry4j.commons.collect.PriorityHeap;
 
@@ -30,4 +40,182 @@ public class PriorityHeapTest {
         assertThat(ph.poll(), equalTo(Pair.of("f", 20)));
         assertThat(ph.poll(), equalTo(Pair.of("d", 10)));
     }
+
+    @Test
+    public void testArities() {
+        for (int arity : new int[] { 2, 3, 4, 8 }) {
+            val random = new Random(arity);
+            val ph = new PriorityHeap<Integer, Integer>(arity, Ordering.<Integer> natural());
+            val expected = new HashMap<Integer, Integer>();
+            for (int i = 0; i < 10000; i++) {
+                int key = random.nextInt(1000);
+                int priority = random.nextInt(1000000);
+                ph.offer(key, priority);
+                expected.put(key, priority);
+            }
+            int last = Integer.MIN_VALUE;
+            while (ph.size() > 0) {
+                val poll = ph.poll();
+                assertThat(poll.second(), equalTo(expected.remove(poll.first())));
+                assertThat(poll.second() >= last, equalTo(true));
+                last = poll.second();
+            }
+            assertThat(expected.isEmpty(), equalTo(true));
+        }
+    }
+
+    @Test
+    public void testBoundedTopK() {
+        val evicted = new ArrayList<Pair<String, Integer>>();
+        val ph = new PriorityHeap<String, Integer>(Ordering.<Integer> natural(), 3, new Action1<Pair<String, Integer>>() {
+            @Override
+            public void apply(Pair<String, Integer> p) {
+                evicted.add(p);
+            }
+        });
+        ph.offer("d", 10).offer("e", 30).offer("h", 50);
+        ph.offer("f", 8).offer("b", 10); // rejected as they cannot compete with d:10.
+        assertThat(evicted.isEmpty(), equalTo(true));
+        ph.offer("c", 60).offer("e", 1); // evicts d:10, and updates e in place.
+        assertThat(evicted, equalTo((List<Pair<String, Integer>>)ImmutableList.of(Pair.of("d", 10))));
+        ph.offerAll(ImmutableList.of(Pair.of("a", 80), Pair.of("i", 0), Pair.of("g", 70)));
+        assertThat(ph.size(), equalTo(3));
+        assertThat(evicted.get(1), equalTo(Pair.of("e", 1)));
+        assertThat(evicted.get(2), equalTo(Pair.of("h", 50)));
+        assertThat(ph.poll(), equalTo(Pair.of("c", 60)));
+        assertThat(ph.poll(), equalTo(Pair.of("g", 70)));
+        assertThat(ph.poll(), equalTo(Pair.of("a", 80)));
+    }
+
+    @Test
+    public void testAddAllAndMerge() {
+        val random = new Random(7);
+        val expected = new HashMap<Integer, Integer>();
+        val ones = new ArrayList<Pair<Integer, Integer>>();
+        for (int i = 0; i < 5000; i++) {
+            ones.add(Pair.of(random.nextInt(3000), random.nextInt()));
+            expected.put(ones.get(i).first(), ones.get(i).second());
+        }
+        val ph = new PriorityHeap<Integer, Integer>(Ordering.<Integer> natural(), ones);
+        assertThat(ph.size(), equalTo(expected.size()));
+        for (int round = 0; round < 2; round++) {
+            val others = new PriorityHeap<Integer, Integer>(8, Ordering.<Integer> natural());
+            for (int i = 0; i < (round == 0 ? 20 : 2000); i++) { // bubbles up a few new keys, or heapifies overlapping keys.
+                int key = round == 0 ? 3000 + i : random.nextInt(4000);
+                int priority = random.nextInt();
+                others.offer(key, priority);
+                expected.put(key, priority);
+            }
+            ph.merge(others);
+        }
+        ph.addAll(ImmutableList.of(Pair.of(1, Integer.MIN_VALUE)));
+        expected.put(1, Integer.MIN_VALUE);
+        assertThat(ph.size(), equalTo(expected.size()));
+        int last = Integer.MIN_VALUE;
+        for (Pair<Integer, Integer> p; null != (p = ph.poll()); last = p.second()) {
+            assertThat(p.second() >= last, equalTo(true));
+            assertThat(p.second(), equalTo(expected.remove(p.first())));
+        }
+        assertThat(expected.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void testRemoveAndLookUp() {
+        val ph = new PriorityHeap<String, Integer>(Ordering.<Integer> natural().reverse());
+        ph.offer("d", 10).offer("e", 30).offer("h", 50)
+                .offer("f", 20).offer("b", 40).offer("c", 60)
+                .offer("a", 80).offer("i", 90).offer("g", 70);
+        assertThat(ph.remove("i"), equalTo(90));
+        assertThat(ph.remove("f"), equalTo(20));
+        assertThat(ph.remove("x"), nullValue());
+        assertThat(ph.contains("f"), equalTo(false));
+        assertThat(ph.contains("h"), equalTo(true));
+        assertThat(ph.priorityOf("h"), equalTo(50));
+        assertThat(ph.priorityOf("f"), nullValue());
+        ph.decreaseKey("d", 100).increaseKey("a", 5);
+        assertThat(ph.size(), equalTo(7));
+        assertThat(ph.poll(), equalTo(Pair.of("d", 100)));
+        assertThat(ph.poll(), equalTo(Pair.of("g", 70)));
+        assertThat(ph.poll(), equalTo(Pair.of("c", 60)));
+        assertThat(ph.poll(), equalTo(Pair.of("h", 50)));
+        assertThat(ph.poll(), equalTo(Pair.of("b", 40)));
+        assertThat(ph.poll(), equalTo(Pair.of("e", 30)));
+        assertThat(ph.poll(), equalTo(Pair.of("a", 5)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyTheWrongWay() {
+        new PriorityHeap<String, Integer>().offer("a", 10).decreaseKey("a", 20);
+    }
+
+    @Test
+    public void testRandomRemovals() {
+        val random = new Random(11);
+        val ph = new PriorityHeap<Integer, Integer>(4, Ordering.<Integer> natural());
+        val expected = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextBoolean()) {
+                int priority = random.nextInt();
+                ph.offer(key, priority);
+                expected.put(key, priority);
+            } else {
+                assertThat(ph.remove(key), equalTo(expected.remove(key)));
+            }
+        }
+        int last = Integer.MIN_VALUE;
+        for (Pair<Integer, Integer> p; null != (p = ph.poll()); last = p.second()) {
+            assertThat(p.second() >= last, equalTo(true));
+            assertThat(p.second(), equalTo(expected.remove(p.first())));
+        }
+        assertThat(expected.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void testOrderedIterationAndSnapshot() {
+        val ph = new PriorityHeap<String, Integer>(Ordering.<Integer> natural().reverse());
+        ph.offer("d", 10).offer("e", 30).offer("h", 50)
+                .offer("f", 20).offer("b", 40).offer("c", 60)
+                .offer("a", 80).offer("i", 90).offer("g", 70);
+        assertThat(ph.sorted(3), equalTo(ImmutableList.of(Pair.of("i", 90), Pair.of("a", 80), Pair.of("g", 70))));
+        val snapshot = ph.snapshot();
+        ph.offer("d", 100).poll();
+        ph.remove("i");
+        assertThat(ph.size(), equalTo(7));
+        val all = new ArrayList<Pair<String, Integer>>();
+        for (Pair<String, Integer> p : snapshot) {
+            all.add(p);
+        }
+        assertThat(all, equalTo((List<Pair<String, Integer>>)ImmutableList.of(
+                Pair.of("i", 90), Pair.of("a", 80), Pair.of("g", 70), Pair.of("c", 60), Pair.of("h", 50),
+                Pair.of("b", 40), Pair.of("e", 30), Pair.of("f", 20), Pair.of("d", 10))));
+        assertThat(snapshot.peek(), equalTo(Pair.of("i", 90)));
+        assertThat(ph.sorted(100).size(), equalTo(7));
+        assertThat(ph.peek(), equalTo(Pair.of("a", 80)));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorFailsFast() {
+        val ph = new PriorityHeap<String, Integer>().offer("a", 1).offer("b", 2);
+        val it = ph.iterator();
+        it.next();
+        ph.offer("c", 0);
+        it.next();
+    }
+
+    @Test
+    public void testRandomOrderedIteration() {
+        val random = new Random(5);
+        for (int arity : new int[] { 2, 4 }) {
+            val ph = new PriorityHeap<Integer, Integer>(arity, Ordering.<Integer> natural());
+            for (int i = 0; i < 5000; i++) {
+                ph.offer(random.nextInt(3000), random.nextInt(100));
+            }
+            val sorted = ph.sorted(Integer.MAX_VALUE);
+            assertThat(sorted.size(), equalTo(ph.size()));
+            for (val p : sorted) {
+                assertThat(ph.poll().second(), equalTo(p.second()));
+            }
+        }
+    }
 }
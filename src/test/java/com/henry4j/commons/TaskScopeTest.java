@@ -0,0 +1,154 @@
+package com.henry4j.commons;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.val;
+
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.henry4j.commons.base.TaskScope;
+import com.henry4j.commons.base.ThreadPerTaskExecutors;
+
+public class TaskScopeTest {
+    private final ListeningExecutorService executor = ThreadPerTaskExecutors.newThreadPerTaskExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testJoin() throws Exception {
+        val begins = System.currentTimeMillis();
+        val forks = new ArrayList<ListenableFuture<Integer>>();
+        try (TaskScope scope = new TaskScope(executor)) {
+            for (int i = 0; i < 500; i++) {
+                final int n = i;
+                forks.add(scope.fork(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        Thread.sleep(100); // blocks a thread per task.
+                        return n;
+                    }
+                }));
+            }
+            scope.join();
+        }
+        Assert.assertThat(System.currentTimeMillis() - begins, Matchers.lessThan(5000L));
+        for (int i = 0; i < 500; i++) {
+            Assert.assertThat(forks.get(i).get(), Matchers.equalTo(i));
+        }
+    }
+
+    @Test
+    public void testFirstFailureCancelsOthers() throws Exception {
+        final CountDownLatch never = new CountDownLatch(1);
+        ListenableFuture<Object> slow = null;
+        try (TaskScope scope = new TaskScope(executor)) {
+            slow = scope.fork(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    never.await();
+                    return null;
+                }
+            });
+            scope.fork(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    throw new IllegalStateException("boom");
+                }
+            });
+            scope.join();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertThat(e.getMessage(), Matchers.equalTo("boom"));
+        }
+        Assert.assertThat(slow.isCancelled(), Matchers.equalTo(true));
+    }
+
+    @Test
+    public void testCloseCancels() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch never = new CountDownLatch(1);
+        final AtomicBoolean left = new AtomicBoolean();
+        ListenableFuture<Boolean> fork;
+        try (TaskScope scope = new TaskScope(executor)) {
+            fork = scope.fork(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    started.countDown();
+                    try {
+                        return never.await(1, TimeUnit.MINUTES);
+                    } finally {
+                        Thread.sleep(50); // lingers after the interrupt, e.g. to clean up.
+                        left.set(true);
+                    }
+                }
+            });
+            started.await();
+        }
+        Assert.assertThat(fork.isCancelled(), Matchers.equalTo(true));
+        Assert.assertThat(left.get(), Matchers.equalTo(true)); // close waited for the thread to leave the task.
+    }
+
+    @Test(timeout = 10000)
+    public void testForkClosesItsScope() throws Exception {
+        final TaskScope scope = new TaskScope(executor);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean left = new AtomicBoolean();
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final CountDownLatch closed = new CountDownLatch(1);
+        scope.fork(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                started.countDown();
+                try {
+                    return new CountDownLatch(1).await(1, TimeUnit.MINUTES);
+                } finally {
+                    left.set(true);
+                }
+            }
+        });
+        ListenableFuture<Boolean> closer = scope.fork(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                started.await();
+                scope.close(); // e.g. by a child handed the scope; returns once the other task has left.
+                interrupted.set(Thread.interrupted());
+                closed.countDown();
+                return left.get();
+            }
+        });
+        closed.await(); // as join returns once forks are cancelled, before their threads leave.
+        Assert.assertThat(closer.isCancelled(), Matchers.equalTo(true));
+        Assert.assertThat(left.get(), Matchers.equalTo(true));
+        Assert.assertThat(interrupted.get(), Matchers.equalTo(true));
+    }
+
+    @Test
+    public void testJoinSeesFailureBeforeCallback() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            try (TaskScope scope = new TaskScope(executor)) {
+                scope.fork(new Callable<Object>() {
+                    @Override
+                    public Object call() {
+                        throw new IllegalStateException("boom");
+                    }
+                });
+                scope.join();
+                Assert.fail();
+            } catch (IllegalStateException e) {
+                Assert.assertThat(e.getMessage(), Matchers.equalTo("boom"));
+            }
+        }
+    }
+}
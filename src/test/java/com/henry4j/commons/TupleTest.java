@@ -0,0 +1,48 @@
+package com.henry4j.commons;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.util.HashMap;
+
+import lombok.val;
+
+import org.junit.Test;
+
+import com.henry4j.commons.collect.IntLongPair;
+import com.henry4j.commons.collect.IntPair;
+import com.henry4j.commons.collect.LongDoublePair;
+import com.henry4j.commons.collect.LongPair;
+import com.henry4j.commons.collect.Pair;
+import com.henry4j.commons.collect.Triple;
+
+public class TupleTest {
+    @Test
+    public void testPrimitivePairs() {
+        val map = new HashMap<Object, String>();
+        map.put(IntPair.of(1, 2), "a");
+        map.put(LongPair.of(1L << 40, 2), "b");
+        map.put(IntLongPair.of(1, 1L << 40), "c");
+        map.put(LongDoublePair.of(1, 0.5), "d");
+        assertThat(map.get(IntPair.of(1, 2)), equalTo("a"));
+        assertThat(map.get(LongPair.of(1L << 40, 2)), equalTo("b"));
+        assertThat(map.get(IntLongPair.of(1, 1L << 40)), equalTo("c"));
+        assertThat(map.get(LongDoublePair.of(1, 0.5)), equalTo("d"));
+        assertThat(IntPair.of(1, 2), not(equalTo(IntPair.of(2, 1))));
+        assertThat(IntPair.of(1, 2).compareTo(IntPair.of(1, 3)) < 0, equalTo(true));
+        assertThat(LongDoublePair.of(2, 0.5).compareTo(LongDoublePair.of(1, 9.0)) > 0, equalTo(true));
+        assertThat(IntLongPair.of(1, 2).boxed(), equalTo(Pair.of(1, 2L)));
+        assertThat(LongPair.of(3, 4).toString(), equalTo("LongPair(first=3, second=4)"));
+    }
+
+    @Test
+    public void testCachedTuples() {
+        assertThat(Pair.cached("a", 1), equalTo(Pair.of("a", 1)));
+        assertThat(Pair.of("a", 1), equalTo(Pair.cached("a", 1)));
+        assertThat(Pair.cached("a", 1).hashCode(), equalTo(Pair.of("a", 1).hashCode()));
+        assertThat(Pair.cached("a", 1).toString(), equalTo("Pair(first=a, second=1)"));
+        assertThat(Triple.cached("a", 1, 2L), equalTo(Triple.of("a", 1, 2L)));
+        assertThat(Triple.cached("a", 1, 2L).hashCode(), equalTo(Triple.of("a", 1, 2L).hashCode()));
+    }
+}